@@ -0,0 +1,45 @@
+package com.bmc.dutyfy.config;
+
+import com.bmc.dutyfy.model.DutyScheduler;
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.UserRole;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Minimum days off between two shifts. An employee's own {@code restDays} wins over the role default, which wins
+ * over {@code default-days}.
+ */
+@Component
+@ConfigurationProperties(prefix = "dutyfy.schedule.rest-window")
+public class RestWindowProperties {
+
+    private int defaultDays = DutyScheduler.DEFAULT_REST_DAYS;
+    private Map<UserRole, Integer> roles = new EnumMap<>(UserRole.class);
+
+    public int getRestDays(Employee employee) {
+        if (employee.getRestDays() != null) {
+            return employee.getRestDays();
+        }
+        return roles.getOrDefault(employee.getRole(), defaultDays);
+    }
+
+    public int getDefaultDays() {
+        return defaultDays;
+    }
+
+    public void setDefaultDays(int defaultDays) {
+        this.defaultDays = defaultDays;
+    }
+
+    public Map<UserRole, Integer> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(Map<UserRole, Integer> roles) {
+        this.roles = roles;
+    }
+}
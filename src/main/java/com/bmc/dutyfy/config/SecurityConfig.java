@@ -24,6 +24,7 @@ public class SecurityConfig {
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/employee/**", "/shifts/**", "/swap/**").hasAnyRole("ADMIN", "EMPLOYEE")
                         .requestMatchers("/css/**", "/js/**", "/images/**", "/login", "/error").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
@@ -0,0 +1,20 @@
+package com.bmc.dutyfy.config;
+
+import com.bmc.dutyfy.model.SubproblemExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SolverExecutorConfig {
+
+    /**
+     * Runs the chunks of decomposed solves and the alternatives of a batch for all schedule jobs. Sized like the job
+     * pool, so at most twice {@code dutyfy.solver.pool-size} CP-SAT solves run at a time: each job's own thread plus
+     * one pool thread per job slot.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public SubproblemExecutor subproblemExecutor(@Value("${dutyfy.solver.pool-size:2}") int poolSize) {
+        return new SubproblemExecutor(poolSize, poolSize);
+    }
+}
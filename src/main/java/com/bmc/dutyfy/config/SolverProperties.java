@@ -0,0 +1,54 @@
+package com.bmc.dutyfy.config;
+
+import com.bmc.dutyfy.model.SolverProfile;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "dutyfy.solver")
+public class SolverProperties {
+
+    private String defaultProfile = "balanced";
+    private Map<String, SolverProfile> profiles = new LinkedHashMap<>();
+
+    @PostConstruct
+    void nameProfiles() {
+        profiles.forEach((name, profile) -> profile.setName(name));
+    }
+
+    /**
+     * @return a copy of the named profile ({@code null} or blank for the default), so callers never change the
+     * configured one
+     */
+    public SolverProfile getProfile(String name) {
+        String profileName = (name == null || name.isBlank()) ? defaultProfile : name;
+        SolverProfile profile = profiles.get(profileName);
+        if (profile == null) {
+            if (profiles.isEmpty() && profileName.equals(defaultProfile)) {
+                return new SolverProfile();
+            }
+            throw new IllegalArgumentException("Unknown solver profile: " + profileName);
+        }
+        return profile.copy();
+    }
+
+    public String getDefaultProfile() {
+        return defaultProfile;
+    }
+
+    public void setDefaultProfile(String defaultProfile) {
+        this.defaultProfile = defaultProfile;
+    }
+
+    public Map<String, SolverProfile> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(Map<String, SolverProfile> profiles) {
+        this.profiles = profiles;
+    }
+}
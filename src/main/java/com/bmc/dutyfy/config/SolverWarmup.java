@@ -0,0 +1,112 @@
+package com.bmc.dutyfy.config;
+
+import com.bmc.dutyfy.model.DutyScheduler;
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.SchedulingOptions;
+import com.bmc.dutyfy.model.SchedulingProblem;
+import com.bmc.dutyfy.model.SolverProfile;
+import com.bmc.dutyfy.model.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the OR-Tools native libraries and solves a tiny synthetic schedule once at startup, so the first real
+ * request doesn't pay for JNI linking and cold JIT of the model builder. Spring Boot only reports the application
+ * ready after all runners have finished; this indicator additionally keeps the readiness group DOWN if the warm-up
+ * failed. The warm-up time is published as the {@code dutyfy.solver.warmup} timer.
+ */
+@Component("solverWarmup")
+public class SolverWarmup implements ApplicationRunner, HealthIndicator {
+
+    private static final int WARMUP_EMPLOYEES = 5;
+    private static final int WARMUP_DAYS = 28;
+
+    @Autowired
+    private SolverProperties solverProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dutyfy.solver.warmup.enabled:true}")
+    private boolean enabled;
+    @Value("${dutyfy.solver.warmup.max-time-in-seconds:5}")
+    private double maxTimeInSeconds;
+
+    private volatile boolean finished;
+    private volatile String solverStatus;
+    private volatile String errorMessage;
+    private volatile long durationMillis;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            finished = true;
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            SolverProfile defaultProfile = solverProperties.getProfile(null);
+            SchedulingOptions options = new SchedulingOptions();
+            options.setSolverProfile(defaultProfile.forSubproblem(defaultProfile.getNumWorkers(), maxTimeInSeconds));
+
+            LocalDate startDate = LocalDate.of(2000, 1, 1);
+            SchedulingProblem problem = SchedulingProblem.of(createWarmupTeam(), startDate,
+                    startDate.plusDays(WARMUP_DAYS - 1), List.of(), List.of(startDate));
+            DutyScheduler.SchedulingResult result = DutyScheduler.scheduleDuties(problem, options);
+            solverStatus = result.getSolverStatus();
+        } catch (Throwable e) {
+            // A broken native library must not take the app down, but it should keep it out of rotation
+            errorMessage = e.getMessage();
+            System.err.println("💥 Solver warm-up failed: " + e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            Timer.builder("dutyfy.solver.warmup")
+                    .description("Native library loading and warm-up solve at startup")
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            finished = true;
+        }
+
+        System.out.println("🔥 Solver warm-up finished in " + durationMillis + " ms (" + solverStatus + ")");
+    }
+
+    private static List<Employee> createWarmupTeam() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < WARMUP_EMPLOYEES; i++) {
+            Employee employee = new Employee("Warm-up " + i, "warmup" + i + "@localhost", "", UserRole.EMPLOYEE,
+                    true);
+            employee.setId(-1L - i);
+            employee.setOffDates(List.of());
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    @Override
+    public Health health() {
+        if (!finished) {
+            return Health.outOfService().withDetail("warmup", "running").build();
+        }
+        if (errorMessage != null) {
+            return Health.down().withDetail("error", errorMessage).build();
+        }
+        return Health.up()
+                .withDetail("durationMillis", durationMillis)
+                .withDetail("solverStatus", String.valueOf(solverStatus))
+                .build();
+    }
+}
@@ -1,11 +1,20 @@
 package com.bmc.dutyfy.controller;
 
-import com.bmc.dutyfy.model.DutyScheduler;
+import com.bmc.dutyfy.config.SolverProperties;
 import com.bmc.dutyfy.model.Employee;
 import com.bmc.dutyfy.model.PreferredOffDate;
+import com.bmc.dutyfy.model.ScheduleJob;
+import com.bmc.dutyfy.model.SchedulePreview;
+import com.bmc.dutyfy.model.SchedulingEngineType;
+import com.bmc.dutyfy.model.WarmStart;
 import com.bmc.dutyfy.repository.EmployeeRepository;
+import com.bmc.dutyfy.service.ScheduleJobService;
+import com.bmc.dutyfy.service.SchedulePreviewService;
 import com.bmc.dutyfy.service.ShiftSchedulingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -13,11 +22,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @Controller
@@ -28,6 +40,15 @@ public class AdminController {
     @Autowired
     private ShiftSchedulingService schedulingService;
 
+    @Autowired
+    private ScheduleJobService scheduleJobService;
+
+    @Autowired
+    private SchedulePreviewService schedulePreviewService;
+
+    @Autowired
+    private SolverProperties solverProperties;
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
@@ -38,36 +59,36 @@ public class AdminController {
 
         model.addAttribute("currentYear", currentYear);
         model.addAttribute("nextYear", nextYear);
+        model.addAttribute("solverProfiles", solverProperties.getProfiles().keySet());
+        model.addAttribute("defaultSolverProfile", solverProperties.getDefaultProfile());
 
         return "admin/schedule-management";
     }
 
     @PostMapping("/schedule/create/{year}")
-    public String createSchedule(@PathVariable int year, RedirectAttributes redirectAttributes) {
+    public String createSchedule(@PathVariable int year,
+                                 @RequestParam(required = false) String solverProfile,
+                                 @RequestParam(defaultValue = "NONE") WarmStart warmStart,
+                                 @RequestParam(defaultValue = "CP_SAT") SchedulingEngineType engine,
+                                 RedirectAttributes redirectAttributes) {
         try {
-            System.out.println("🚀 Starting schedule creation for year: " + year);
-
-            DutyScheduler.SchedulingResult result = schedulingService.createYearlySchedule(year);
-
-            if (result.isSuccess()) {
-                redirectAttributes.addFlashAttribute("successMessage",
-                        "Schedule for " + year + " created successfully with " + result.getShifts().size() + " shifts" +
-                                ".");
+            System.out.println("🚀 Submitting schedule creation for year: " + year);
 
-                if (!result.getWarnings().isEmpty()) {
-                    redirectAttributes.addFlashAttribute("warnings", result.getWarnings());
-                }
+            ScheduleJob job = scheduleJobService.submitYearlySchedule(year, solverProfile, warmStart, engine);
 
-                System.out.println("✅ Schedule creation completed successfully");
-            } else {
-                redirectAttributes.addFlashAttribute("errorMessage",
-                        "Failed to create schedule for " + year + ". Check the warnings for details.");
-                redirectAttributes.addFlashAttribute("warnings", result.getWarnings());
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "Schedule creation for " + year + " started (job #" + job.getId() + ", profile '" +
+                            job.getSolverProfile() + "').");
+            redirectAttributes.addFlashAttribute("jobId", job.getId());
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        } catch (RejectedExecutionException e) {
+            System.err.println("⛔ Schedule job rejected for " + year + ": solver queue is full");
 
-                System.out.println("❌ Schedule creation failed");
-            }
+            redirectAttributes.addFlashAttribute("errorMessage",
+                    "The scheduler is busy with other requests. Please try again in a few minutes.");
         } catch (Exception e) {
-            System.err.println("💥 Exception during schedule creation: " + e.getMessage());
+            System.err.println("💥 Exception during schedule submission: " + e.getMessage());
             e.printStackTrace();
 
             redirectAttributes.addFlashAttribute("errorMessage",
@@ -77,6 +98,121 @@ public class AdminController {
         return "redirect:/admin/schedule";
     }
 
+    @PostMapping("/schedule/reschedule")
+    public String rescheduleWindow(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                   @RequestParam(required = false) String solverProfile,
+                                   @RequestParam(defaultValue = "CP_SAT") SchedulingEngineType engine,
+                                   RedirectAttributes redirectAttributes) {
+        try {
+            System.out.println("🔁 Submitting re-schedule for " + startDate + " - " + endDate);
+
+            if (endDate.isBefore(startDate)) {
+                throw new IllegalArgumentException("End date must not be before start date");
+            }
+            ScheduleJob job = scheduleJobService.submitReschedule(startDate, endDate, solverProfile, engine);
+
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "Re-scheduling " + startDate + " - " + endDate + " started (job #" + job.getId() + ").");
+            redirectAttributes.addFlashAttribute("jobId", job.getId());
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        } catch (RejectedExecutionException e) {
+            System.err.println("⛔ Re-schedule job rejected: solver queue is full");
+
+            redirectAttributes.addFlashAttribute("errorMessage",
+                    "The scheduler is busy with other requests. Please try again in a few minutes.");
+        }
+
+        return "redirect:/admin/schedule";
+    }
+
+    /**
+     * Queues a solve of the year from the current inputs that saves nothing; unchanged inputs are answered from the
+     * cache. Answers 202 with the job, whose preview keys fetch the result once it has finished.
+     */
+    @PostMapping("/schedule/preview/{year}")
+    @ResponseBody
+    public ResponseEntity<?> previewSchedule(@PathVariable int year,
+                                             @RequestParam(required = false) String solverProfile,
+                                             @RequestParam(defaultValue = "NONE") WarmStart warmStart,
+                                             @RequestParam(defaultValue = "LOCAL_SEARCH") SchedulingEngineType engine) {
+        try {
+            return ResponseEntity.accepted().body(scheduleJobService.submitPreview(year, solverProfile, warmStart,
+                    engine));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            System.err.println("⛔ Preview job rejected for " + year + ": solver queue is full");
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error",
+                    "The scheduler is busy with other requests. Please try again in a few minutes."));
+        }
+    }
+
+    @GetMapping("/schedule/preview/{key}")
+    @ResponseBody
+    public ResponseEntity<SchedulePreview> getPreview(@PathVariable String key) {
+        return schedulePreviewService.getPreview(key)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Queues a batch of diverse CP-SAT previews of the year; answers 202 with the job, like a single preview.
+     */
+    @PostMapping("/schedule/preview/{year}/alternatives")
+    @ResponseBody
+    public ResponseEntity<?> previewAlternatives(@PathVariable int year,
+                                                 @RequestParam(required = false) String solverProfile,
+                                                 @RequestParam(defaultValue = "NONE") WarmStart warmStart,
+                                                 @RequestParam(defaultValue = "3") int count) {
+        try {
+            return ResponseEntity.accepted().body(scheduleJobService.submitAlternatives(year, solverProfile,
+                    warmStart, count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            System.err.println("⛔ Alternatives job rejected for " + year + ": solver queue is full");
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error",
+                    "The scheduler is busy with other requests. Please try again in a few minutes."));
+        }
+    }
+
+    /**
+     * Queues saving the preview as its year's schedule; answers 202 with the job, or 400 while another job writes
+     * the same year.
+     */
+    @PostMapping("/schedule/preview/{key}/commit")
+    @ResponseBody
+    public ResponseEntity<?> commitPreview(@PathVariable String key) {
+        try {
+            return ResponseEntity.accepted().body(scheduleJobService.submitCommit(key));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            System.err.println("⛔ Commit job rejected for preview " + key + ": solver queue is full");
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error",
+                    "The scheduler is busy with other requests. Please try again in a few minutes."));
+        }
+    }
+
+    @GetMapping("/schedule/jobs")
+    @ResponseBody
+    public List<ScheduleJob> scheduleJobs() {
+        return scheduleJobService.getJobs();
+    }
+
+    @GetMapping("/schedule/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<ScheduleJob> scheduleJobStatus(@PathVariable long jobId) {
+        return scheduleJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/employees")
     public String employeeManagement() {
         return "admin/employee-management";
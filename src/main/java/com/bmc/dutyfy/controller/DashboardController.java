@@ -1,9 +1,11 @@
 package com.bmc.dutyfy.controller;
 
 import com.bmc.dutyfy.model.Employee;
-import com.bmc.dutyfy.model.Shift;
+import com.bmc.dutyfy.model.EmployeeYearStats;
+import com.bmc.dutyfy.model.ScheduledShift;
 import com.bmc.dutyfy.model.ShiftSwapRequest;
 import com.bmc.dutyfy.repository.EmployeeRepository;
+import com.bmc.dutyfy.service.DutyStatisticsService;
 import com.bmc.dutyfy.service.ShiftSchedulingService;
 import com.bmc.dutyfy.service.ShiftSwapService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +32,9 @@ public class DashboardController {
     @Autowired
     private ShiftSwapService swapService;
 
+    @Autowired
+    private DutyStatisticsService dutyStatisticsService;
+
     @GetMapping("/login")
     public String login() {
         return "login";
@@ -44,6 +49,10 @@ public class DashboardController {
         model.addAttribute("isAdmin", isAdmin);
 
         if (isAdmin) {
+            int currentYear = LocalDate.now().getYear();
+            List<EmployeeYearStats> dutyStats = dutyStatisticsService.getStatsForYear(currentYear);
+            model.addAttribute("currentYear", currentYear);
+            model.addAttribute("dutyStats", dutyStats);
             return "admin-dashboard";
         } else {
             // Find employee by email (username in this case is email)
@@ -51,7 +60,7 @@ public class DashboardController {
 
             if (employee.isPresent()) {
                 int currentYear = LocalDate.now().getYear();
-                List<Shift> myShifts = schedulingService.getShiftsForEmployee(employee.get(), currentYear);
+                List<ScheduledShift> myShifts = schedulingService.getShiftsForEmployee(employee.get(), currentYear);
                 List<ShiftSwapRequest> pendingRequests = swapService.getPendingRequestsForEmployee(employee.get());
 
                 model.addAttribute("employee", employee.get());
@@ -71,7 +80,7 @@ public class DashboardController {
     public String viewShifts(@PathVariable int year, Model model, Authentication authentication) {
         boolean isAdmin = authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
 
-        List<Shift> shifts = schedulingService.getShiftsForYear(year);
+        List<ScheduledShift> shifts = schedulingService.getShiftsForYear(year);
         model.addAttribute("shifts", shifts);
         model.addAttribute("year", year);
         model.addAttribute("isAdmin", isAdmin);
@@ -1,6 +1,7 @@
 package com.bmc.dutyfy.controller;
 
 import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.ScheduledShift;
 import com.bmc.dutyfy.model.Shift;
 import com.bmc.dutyfy.model.ShiftSwapRequest;
 import com.bmc.dutyfy.repository.EmployeeRepository;
@@ -51,15 +52,9 @@ public class SwapController {
 
         int currentYear = LocalDate.now().getYear();
 
-        // Get current employee's shifts for this year and next year
-        List<Shift> myShifts = schedulingService.getShiftsForEmployee(currentEmployee.get(), currentYear);
-        myShifts.addAll(schedulingService.getShiftsForEmployee(currentEmployee.get(), currentYear + 1));
-
-        // Filter out past shifts (can't swap past shifts)
-        List<Shift> availableShifts = myShifts.stream()
-                .filter(shift -> shift.getShiftDate().isAfter(LocalDate.now()))
-                .sorted((a, b) -> a.getShiftDate().compareTo(b.getShiftDate()))
-                .toList();
+        // Current employee's upcoming shifts for this year and next year (can't swap past shifts)
+        List<ScheduledShift> availableShifts = schedulingService.getShiftsForEmployee(currentEmployee.get(),
+                LocalDate.now().plusDays(1), LocalDate.of(currentYear + 1, 12, 31));
 
         // Get all other active employees
         List<Employee> otherEmployees = employeeRepository.findByActiveTrue().stream()
@@ -68,10 +63,10 @@ public class SwapController {
                 .toList();
 
         // If a specific shift is requested, find it
-        Shift selectedShift = null;
+        ScheduledShift selectedShift = null;
         if (shiftId != null) {
             selectedShift = availableShifts.stream()
-                    .filter(shift -> shift.getId().equals(shiftId))
+                    .filter(shift -> shift.getId() == shiftId)
                     .findFirst()
                     .orElse(null);
         }
@@ -135,26 +130,6 @@ public class SwapController {
                 return "redirect:/employee/swap-requests";
             }
 
-            // Check if target employee has a shift on the same date
-            LocalDate shiftDate = shift.get().getShiftDate();
-            System.out.println("🔍 Checking if target has shift on: " + shiftDate);
-
-            List<Shift> targetShifts = schedulingService.getShiftsForEmployee(targetEmployee.get(),
-                    shiftDate.getYear());
-            System.out.println("   Target has " + targetShifts.size() + " shifts in " + shiftDate.getYear());
-
-            boolean targetHasShiftOnDate = targetShifts.stream()
-                    .anyMatch(s -> s.getShiftDate().equals(shiftDate));
-
-            System.out.println("   Target has shift on " + shiftDate + ": " + targetHasShiftOnDate);
-
-            if (!targetHasShiftOnDate) {
-                System.err.println("❌ Target employee doesn't have shift on same date");
-                redirectAttributes.addFlashAttribute("error",
-                        targetEmployee.get().getName() + " doesn't have a shift on " + shiftDate + " to swap with");
-                return "redirect:/swap/request?shiftId=" + shiftId;
-            }
-
             System.out.println("🚀 Creating swap request...");
             ShiftSwapRequest swapRequest = swapService.createSwapRequest(
                     requester.get(), targetEmployee.get(), shift.get(), reason);
@@ -162,7 +137,7 @@ public class SwapController {
             System.out.println("✅ Swap request created successfully: ID = " + swapRequest.getId());
 
             redirectAttributes.addFlashAttribute("success",
-                    "Swap request sent to " + targetEmployee.get().getName() + " for " + shiftDate);
+                    "Swap request sent to " + targetEmployee.get().getName() + " for " + shift.get().getShiftDate());
 
         } catch (Exception e) {
             System.err.println("💥 Error creating swap request: " + e.getMessage());
@@ -1,6 +1,8 @@
 package com.bmc.dutyfy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -9,11 +11,17 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "admin_constraints")
+@Table(name = "admin_constraints", indexes = {
+        @Index(name = "idx_admin_constraints_constraint_date", columnList = "constraint_date"),
+        @Index(name = "idx_admin_constraints_employee_constraint_date", columnList = "employee_id, constraint_date")
+})
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "admin-constraints")
 public class AdminConstraint {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admin_constraints_seq")
+    @SequenceGenerator(name = "admin_constraints_seq", sequenceName = "admin_constraints_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,165 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Solves several near-optimal schedules that differ from each other, so admins can compare trade-offs in one call.
+ * <p>
+ * A balanced base schedule is solved first with a third of the time budget. The other alternatives are then solved
+ * in rounds of parallel solves in the remaining time, each with its own random seed and {@link ScheduleEmphasis},
+ * and each must reassign at least a minimum number of days of every schedule kept in earlier rounds. Solves of the
+ * same round can't see each other, so an alternative that ends up too close to one kept before it is dropped with a
+ * warning. With enough threads there is a single round; with fewer, later rounds build on the earlier ones.
+ * <p>
+ * The solves of a round run on the options' {@link SubproblemExecutor}, which all solves share; without one they
+ * run one after the other on the calling thread.
+ */
+public class AlternativeScheduler {
+
+    // Share of the time budget for the base schedule; it usually finishes early and leaves the rest to the others
+    private static final double BASE_BUDGET_SHARE = 1.0 / 3;
+    private static final ScheduleEmphasis[] EMPHASES = {
+            ScheduleEmphasis.WEEKENDS, ScheduleEmphasis.HOLIDAYS, ScheduleEmphasis.LOAD, ScheduleEmphasis.BALANCED
+    };
+    /**
+     * @param count          number of schedules to return at most, including the base schedule
+     * @param minChangedDays days every alternative must assign differently from the base schedule and from each
+     *                       other
+     * @return the base schedule first, followed by the alternatives that were found; just the failed base result if
+     * the problem can't be solved at all
+     */
+    public static List<DutyScheduler.SchedulingResult> scheduleAlternatives(SchedulingProblem problem,
+                                                                            SchedulingOptions options, int count,
+                                                                            int minChangedDays) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one schedule must be requested, got " + count);
+        }
+        long started = System.nanoTime();
+        SolverProfile profile = options.getSolverProfile();
+        double budget = profile.getMaxTimeInSeconds();
+
+        // Phase 1: the balanced base schedule with all CP-SAT workers
+        SchedulingOptions baseOptions = options.copy();
+        baseOptions.setSolverProfile(profile.forSubproblem(profile.getNumWorkers(), budget * BASE_BUDGET_SHARE));
+        baseOptions.setEmphasis(ScheduleEmphasis.BALANCED);
+        DutyScheduler.SchedulingResult base = DutyScheduler.scheduleDuties(problem, baseOptions);
+        List<DutyScheduler.SchedulingResult> results = new ArrayList<>();
+        results.add(base);
+        if (!base.isSuccess() || count == 1) {
+            return results;
+        }
+
+        int alternatives = count - 1;
+        SubproblemExecutor executor = options.getSubproblemExecutor();
+        int parallelism = Math.max(1, Math.min(alternatives, executor.getParallelism()));
+        int workersPerSolve = profile.getNumWorkers() == 0 ? 1 : Math.max(1, profile.getNumWorkers() / parallelism);
+        // With fewer threads than alternatives they run in rounds, which share the remaining time
+        int rounds = (alternatives + parallelism - 1) / parallelism;
+        System.out.println("🔀 Solving " + alternatives + " alternatives in " + rounds + " rounds on " +
+                parallelism + " threads (" + workersPerSolve + " CP-SAT workers each)");
+
+        List<Map<LocalDate, Long>> kept = new ArrayList<>();
+        kept.add(assignments(base.getShifts()));
+        for (int first = 0; first < alternatives; first += parallelism) {
+            // Each round gets an equal share of what is left, so the rounds together stay within the budget
+            int roundsLeft = rounds - first / parallelism;
+            double perSolve = (budget - elapsedSeconds(started)) / roundsLeft;
+            if (perSolve <= 0) {
+                base.getWarnings().add("No time left for " + (alternatives - first) + " of the alternatives");
+                break;
+            }
+            // Phase 2: one round of alternatives, each pushed away from the kept ones in its own direction
+            List<Map<LocalDate, Long>> references = List.copyOf(kept);
+            List<Callable<DutyScheduler.SchedulingResult>> solves = new ArrayList<>();
+            for (int i = first; i < Math.min(alternatives, first + parallelism); i++) {
+                SolverProfile alternativeProfile = profile.forSubproblem(workersPerSolve, perSolve);
+                alternativeProfile.setRandomSeed(profile.getRandomSeed() + i + 1);
+                SchedulingOptions alternativeOptions = options.copy();
+                alternativeOptions.setSolverProfile(alternativeProfile);
+                alternativeOptions.setProgressListener(SchedulingProgressListener.NONE);
+                alternativeOptions.setEmphasis(EMPHASES[i % EMPHASES.length]);
+                alternativeOptions.setDivergeFrom(references, minChangedDays);
+                alternativeOptions.setHintAssignments(references.get(references.size() - 1));
+                alternativeOptions.setDiagnoseInfeasibility(false);
+                solves.add(() -> DutyScheduler.scheduleDuties(problem, alternativeOptions));
+            }
+
+            for (DutyScheduler.SchedulingResult alternative : collect(invokeAll(executor, solves))) {
+                if (!alternative.isSuccess()) {
+                    base.getWarnings().add("An alternative changing at least " + minChangedDays +
+                            " days could not be found in time");
+                    continue;
+                }
+                Map<LocalDate, Long> alternativeAssignments = assignments(alternative.getShifts());
+                if (kept.stream().anyMatch(other -> changedDays(other, alternativeAssignments) < minChangedDays)) {
+                    base.getWarnings().add("Dropped an alternative that was too similar to another one");
+                    continue;
+                }
+                kept.add(alternativeAssignments);
+                results.add(alternative);
+            }
+        }
+
+        System.out.println("🔀 Found " + results.size() + " of " + count + " schedules in " +
+                String.format("%.2f", elapsedSeconds(started)) + "s");
+        return results;
+    }
+
+    /**
+     * @return the number of dates both schedules cover that are assigned to different employees
+     */
+    static int changedDays(Map<LocalDate, Long> first, Map<LocalDate, Long> second) {
+        int changed = 0;
+        for (Map.Entry<LocalDate, Long> entry : first.entrySet()) {
+            Long other = second.get(entry.getKey());
+            if (other != null && !other.equals(entry.getValue())) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static Map<LocalDate, Long> assignments(List<Shift> shifts) {
+        Map<LocalDate, Long> assignments = new HashMap<>();
+        for (Shift shift : shifts) {
+            assignments.put(shift.getShiftDate(), shift.getEmployee().getId());
+        }
+        return assignments;
+    }
+
+    private static double elapsedSeconds(long started) {
+        return (System.nanoTime() - started) / 1e9;
+    }
+
+    private static <T> List<Future<T>> invokeAll(SubproblemExecutor executor, List<Callable<T>> solves) {
+        try {
+            return executor.invokeAll(solves);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Alternative solve was interrupted", e);
+        }
+    }
+
+    private static <T> List<T> collect(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Alternative solve was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Alternative solve failed: " + e.getCause().getMessage(),
+                        e.getCause());
+            }
+        }
+        return results;
+    }
+}
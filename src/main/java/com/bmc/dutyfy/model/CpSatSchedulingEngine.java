@@ -0,0 +1,17 @@
+package com.bmc.dutyfy.model;
+
+/**
+ * The OR-Tools CP-SAT model of {@link DutyScheduler}: proves optimality given time, honours the solver profile.
+ */
+public class CpSatSchedulingEngine implements SchedulingEngine {
+
+    @Override
+    public String getName() {
+        return "cp-sat";
+    }
+
+    @Override
+    public DutyScheduler.SchedulingResult schedule(SchedulingProblem problem, SchedulingOptions options) {
+        return DutyScheduler.scheduleDuties(problem, options);
+    }
+}
@@ -0,0 +1,298 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Solves long horizons as independent month or quarter chunks in parallel, then repairs the seams between them.
+ * <p>
+ * Chunks can't see each other while they are solved, so the fairness counts are split up front: every chunk gets
+ * an exact per-employee target, and the leftover days of each chunk go round-robin to the employees who are next in
+ * line across the whole horizon. Seams where the consecutive-shift rule is broken are re-solved as small windows
+ * with the neighbouring chunk days fixed and the per-employee counts kept.
+ * <p>
+ * Chunks and seam repairs run on the options' {@link SubproblemExecutor}, which all solves share.
+ */
+public class DecomposedDutyScheduler {
+
+    // Days on each side of a chunk boundary that a seam repair may re-assign (at least twice the longest rest window)
+    private static final int SEAM_REPAIR_DAYS = 7;
+    private static final int CHUNK_FAIRNESS_TOLERANCE = 1;
+
+    public static DutyScheduler.SchedulingResult scheduleDuties(SchedulingProblem problem, SchedulingOptions options) {
+        long started = System.nanoTime();
+        SolverProfile profile = options.getSolverProfile();
+        LocalDate startDate = problem.getStartDate();
+        LocalDate endDate = problem.getEndDate();
+        List<LocalDate[]> chunks = splitHorizon(startDate, endDate, profile.getDecomposition());
+        List<String> warnings = new ArrayList<>();
+
+        if (problem.getNumWorkers() == 0) {
+            return new DutyScheduler.SchedulingResult(false, new ArrayList<>(), List.of("No active employees found"));
+        }
+
+        SubproblemExecutor executor = options.getSubproblemExecutor();
+        int parallelism = Math.max(1, Math.min(chunks.size(), executor.getParallelism()));
+        int workersPerChunk = profile.getNumWorkers() == 0 ? 1 : Math.max(1, profile.getNumWorkers() / parallelism);
+        System.out.println("🧩 Decomposed solve: " + chunks.size() + " " + profile.getDecomposition() +
+                " chunks on " + parallelism + " threads (" + workersPerChunk + " CP-SAT workers each)");
+
+        List<Map<Long, Integer>> chunkTargets = distributeTargets(problem, chunks);
+
+        // Phase 1: solve all chunks concurrently
+        List<Callable<DutyScheduler.SchedulingResult>> chunkSolves = new ArrayList<>();
+        for (int c = 0; c < chunks.size(); c++) {
+            LocalDate[] chunk = chunks.get(c);
+            SchedulingOptions chunkOptions = options.copy();
+            chunkOptions.setSolverProfile(profile.forSubproblem(workersPerChunk, profile.getMaxTimeInSeconds()));
+            chunkOptions.setProgressListener(SchedulingProgressListener.NONE);
+            chunkOptions.setTargetShiftCounts(chunkTargets.get(c));
+            chunkOptions.setFairnessTolerance(CHUNK_FAIRNESS_TOLERANCE);
+            chunkOptions.setDiagnoseInfeasibility(false);
+            chunkSolves.add(() -> {
+                SchedulingProblem chunkProblem = problem.window(chunk[0], chunk[1]);
+                DutyScheduler.SchedulingResult chunkResult = DutyScheduler.scheduleDuties(chunkProblem,
+                        chunkOptions);
+                if (chunkResult.isSuccess()) {
+                    return chunkResult;
+                }
+                // Tight chunk targets can clash with admin constraints; fall back to the caller's tolerance
+                chunkOptions.setFairnessTolerance(options.getFairnessTolerance());
+                chunkOptions.setDiagnoseInfeasibility(options.isDiagnoseInfeasibility());
+                return DutyScheduler.scheduleDuties(chunkProblem, chunkOptions);
+            });
+        }
+        List<DutyScheduler.SchedulingResult> chunkResults = collect(invokeAll(executor, chunkSolves));
+
+        Map<LocalDate, Shift> stitched = new ConcurrentHashMap<>();
+        for (int c = 0; c < chunkResults.size(); c++) {
+            DutyScheduler.SchedulingResult chunkResult = chunkResults.get(c);
+            if (!chunkResult.isSuccess()) {
+                warnings.add("Chunk " + chunks.get(c)[0] + " - " + chunks.get(c)[1] + " could not be solved");
+                warnings.addAll(chunkResult.getWarnings());
+                DutyScheduler.SchedulingResult result = finish(false, new ArrayList<>(), warnings, profile,
+                        problem, started);
+                result.setConflicts(chunkResult.getConflicts());
+                return result;
+            }
+            chunkResult.getShifts().forEach(shift -> stitched.put(shift.getShiftDate(), shift));
+        }
+
+        // Phase 2: repair seams that break the consecutive-shift rule. Each repair reads the shifts up to
+        // maxRestDays around its window, so windows that come that close are merged into one repair; the rest
+        // are independent and run together
+        List<LocalDate[]> seamWindows = new ArrayList<>();
+        int maxRestDays = problem.getMaxRestDays();
+        int seamRepairDays = Math.max(SEAM_REPAIR_DAYS, 2 * maxRestDays);
+        for (int c = 1; c < chunks.size(); c++) {
+            LocalDate boundary = chunks.get(c)[0];
+            if (hasSeamViolation(problem, stitched, boundary)) {
+                seamWindows.add(new LocalDate[]{max(startDate, boundary.minusDays(seamRepairDays)),
+                        min(endDate, boundary.plusDays(seamRepairDays - 1))});
+            }
+        }
+        List<LocalDate[]> repairWindows = mergeSeamWindows(seamWindows, maxRestDays);
+        List<Callable<Boolean>> seamRepairs = new ArrayList<>();
+        for (LocalDate[] window : repairWindows) {
+            seamRepairs.add(() -> repairSeam(stitched, problem.window(window[0], window[1]), options,
+                    workersPerChunk));
+        }
+        List<Boolean> repaired = collect(invokeAll(executor, seamRepairs));
+        long failedSeams = repaired.stream().filter(ok -> !ok).count();
+        System.out.println("🧵 Repaired " + (repaired.size() - failedSeams) + " of " + repaired.size() +
+                " repair windows covering " + seamWindows.size() + " seams needing repair (" +
+                (chunks.size() - 1) + " seams total)");
+        if (failedSeams > 0) {
+            warnings.add(failedSeams + " chunk boundaries could not be repaired; try a monolithic solve");
+            return finish(false, new ArrayList<>(), warnings, profile, problem, started);
+        }
+
+        List<Shift> shifts = new ArrayList<>(stitched.values());
+        shifts.sort(Comparator.comparing(Shift::getShiftDate));
+        // Seams are only checked near their boundary, so verify the whole stitched schedule before reporting it
+        int violations = DutyScheduler.countConsecutiveViolations(problem, shifts);
+        if (violations > 0) {
+            warnings.add(violations + " rest window violations remain after stitching the chunks; " +
+                    "try a monolithic solve");
+            return finish(false, new ArrayList<>(), warnings, profile, problem, started);
+        }
+        return finish(true, shifts, warnings, profile, problem, started);
+    }
+
+    static List<LocalDate[]> splitHorizon(LocalDate startDate, LocalDate endDate, Decomposition decomposition) {
+        List<LocalDate[]> chunks = new ArrayList<>();
+        LocalDate chunkStart = startDate;
+        while (!chunkStart.isAfter(endDate)) {
+            LocalDate nextStart = chunkStart.withDayOfMonth(1).plusMonths(decomposition.getMonths());
+            LocalDate chunkEnd = nextStart.minusDays(1).isAfter(endDate) ? endDate : nextStart.minusDays(1);
+            chunks.add(new LocalDate[]{chunkStart, chunkEnd});
+            chunkStart = nextStart;
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits every chunk's days evenly and hands each chunk's leftover days to the employees next in a rotation
+     * that runs across the whole horizon, so yearly totals differ by at most one.
+     */
+    static List<Map<Long, Integer>> distributeTargets(SchedulingProblem problem, List<LocalDate[]> chunks) {
+        List<Map<Long, Integer>> targets = new ArrayList<>();
+        int numWorkers = problem.getNumWorkers();
+        // Employees who worked least last year are first in line for the leftover days
+        List<Integer> rotation = new ArrayList<>();
+        for (int w = 0; w < numWorkers; w++) {
+            rotation.add(w);
+        }
+        rotation.sort(Comparator.comparingInt(problem::getPreviousYearShifts));
+        int nextExtra = 0;
+        for (LocalDate[] chunk : chunks) {
+            int chunkDays = (int) ChronoUnit.DAYS.between(chunk[0], chunk[1]) + 1;
+            int base = chunkDays / numWorkers;
+            int remainder = chunkDays % numWorkers;
+            Map<Long, Integer> chunkTargets = new HashMap<>();
+            for (int w = 0; w < numWorkers; w++) {
+                chunkTargets.put(problem.getEmployeeId(w), base);
+            }
+            for (int i = 0; i < remainder; i++) {
+                chunkTargets.merge(problem.getEmployeeId(rotation.get(nextExtra)), 1, Integer::sum);
+                nextExtra = (nextExtra + 1) % numWorkers;
+            }
+            targets.add(chunkTargets);
+        }
+        return targets;
+    }
+
+    /**
+     * Merges seam windows (sorted by date) that come within {@code maxRestDays} of each other: a repair fixes the
+     * shifts that close to its window, so it must not run while a neighbouring repair rewrites them.
+     */
+    static List<LocalDate[]> mergeSeamWindows(List<LocalDate[]> seamWindows, int maxRestDays) {
+        List<LocalDate[]> merged = new ArrayList<>();
+        for (LocalDate[] window : seamWindows) {
+            LocalDate[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && !window[0].isAfter(last[1].plusDays(maxRestDays))) {
+                last[1] = max(last[1], window[1]);
+            } else {
+                merged.add(new LocalDate[]{window[0], window[1]});
+            }
+        }
+        return merged;
+    }
+
+    private static boolean hasSeamViolation(SchedulingProblem problem, Map<LocalDate, Shift> stitched,
+                                            LocalDate boundary) {
+        List<Shift> nearBoundary = new ArrayList<>();
+        int maxRestDays = problem.getMaxRestDays();
+        for (int offset = -maxRestDays; offset < maxRestDays; offset++) {
+            Shift shift = stitched.get(boundary.plusDays(offset));
+            if (shift != null) {
+                nearBoundary.add(shift);
+            }
+        }
+        return DutyScheduler.countConsecutiveViolations(problem, nearBoundary) > 0;
+    }
+
+    private static boolean repairSeam(Map<LocalDate, Shift> stitched, SchedulingProblem seam,
+                                      SchedulingOptions options, int numWorkers) {
+        LocalDate windowStart = seam.getStartDate();
+        LocalDate windowEnd = seam.getEndDate();
+        // Shifts just outside the seam window stay fixed; beyond the horizon those are the caller's own fixed shifts
+        Map<LocalDate, Long> fixed = new HashMap<>(options.getFixedAssignments());
+        Map<LocalDate, Long> hints = new HashMap<>();
+        Map<Long, Integer> counts = new HashMap<>();
+        int maxRestDays = seam.getMaxRestDays();
+        for (LocalDate date = windowStart.minusDays(maxRestDays);
+             !date.isAfter(windowEnd.plusDays(maxRestDays)); date = date.plusDays(1)) {
+            Shift shift = stitched.get(date);
+            if (shift == null) {
+                continue;
+            }
+            Long employeeId = shift.getEmployee().getId();
+            if (date.isBefore(windowStart) || date.isAfter(windowEnd)) {
+                fixed.put(date, employeeId);
+            } else {
+                hints.put(date, employeeId);
+                counts.merge(employeeId, 1, Integer::sum);
+            }
+        }
+        for (int w = 0; w < seam.getNumWorkers(); w++) {
+            counts.putIfAbsent(seam.getEmployeeId(w), 0);
+        }
+
+        SchedulingOptions seamOptions = options.copy();
+        SolverProfile profile = options.getSolverProfile();
+        seamOptions.setSolverProfile(profile.forSubproblem(numWorkers, Math.max(1.0, profile.getMaxTimeInSeconds() / 4)));
+        seamOptions.setProgressListener(SchedulingProgressListener.NONE);
+        seamOptions.setFixedAssignments(fixed);
+        seamOptions.setHintAssignments(hints);
+        seamOptions.setTargetShiftCounts(counts);
+        seamOptions.setFairnessTolerance(CHUNK_FAIRNESS_TOLERANCE);
+        // A failed seam is reported as a whole; its conflicts would only describe the repair window
+        seamOptions.setDiagnoseInfeasibility(false);
+
+        DutyScheduler.SchedulingResult result = DutyScheduler.scheduleDuties(seam, seamOptions);
+        if (!result.isSuccess()) {
+            return false;
+        }
+        // Repair windows are merged until none reads another's dates, so each repair only replaces its own
+        result.getShifts().forEach(shift -> stitched.put(shift.getShiftDate(), shift));
+        return true;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static DutyScheduler.SchedulingResult finish(boolean success, List<Shift> shifts, List<String> warnings,
+                                                         SolverProfile profile, SchedulingProblem problem,
+                                                         long started) {
+        double wallTime = (System.nanoTime() - started) / 1e9;
+        DutyScheduler.SchedulingResult result = new DutyScheduler.SchedulingResult(success, shifts, warnings);
+        result.setSolverStatistics(profile.getName(), success ? "FEASIBLE" : "UNKNOWN",
+                success ? (double) DutyScheduler.scoreSchedule(problem, shifts) : null, null, wallTime);
+        if (success) {
+            result.setFairness(FairnessSummary.of(problem, shifts));
+            result.setObjectiveBreakdown(ObjectiveBreakdown.of(problem, shifts));
+        }
+        System.out.println((success ? "✅" : "❌") + " Decomposed solve finished in " +
+                String.format("%.2f", wallTime) + "s");
+        return result;
+    }
+
+    private static <T> List<Future<T>> invokeAll(SubproblemExecutor executor, List<Callable<T>> solves) {
+        try {
+            return executor.invokeAll(solves);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Decomposed solve was interrupted", e);
+        }
+    }
+
+    private static <T> List<T> collect(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Decomposed solve was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Chunk solve failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return results;
+    }
+}
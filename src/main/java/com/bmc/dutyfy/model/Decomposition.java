@@ -0,0 +1,20 @@
+package com.bmc.dutyfy.model;
+
+/**
+ * How {@link DecomposedDutyScheduler} splits the scheduling horizon.
+ */
+public enum Decomposition {
+    NONE(0),
+    MONTHLY(1),
+    QUARTERLY(3);
+
+    private final int months;
+
+    Decomposition(int months) {
+        this.months = months;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+}
@@ -3,74 +3,82 @@ package com.bmc.dutyfy.model;
 import com.google.ortools.Loader;
 import com.google.ortools.sat.*;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class DutyScheduler {
 
-    public static SchedulingResult scheduleDuties(List<Employee> employees, LocalDate startDate, LocalDate endDate,
-                                                  List<AdminConstraint> adminConstraints, List<LocalDate> holidays) {
-        Loader.loadNativeLibraries();
+    // Unless configured otherwise, a worker gets at most one shift in any window of DEFAULT_REST_DAYS + 1 days
+    public static final int DEFAULT_REST_DAYS = 3;
+    // Longest rest window that AUTO still encodes as sliding windows
+    static final int AUTO_SLIDING_MAX_REST_DAYS = 14;
 
-        int numDays = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        int numWorkers = employees.size();
-        List<Shift> shiftsResult = new LinkedList<>();
-        List<String> warnings = new ArrayList<>();
+    static final long OFF_DATE_PENALTY = 100;
+    // Objective weight of one shift of difference between the most and least loaded employee
+    static final long LOAD_SPREAD_WEIGHT = 20;
+    static final long WEEKEND_SPREAD_WEIGHT = 10;
+    static final long HOLIDAY_SPREAD_WEIGHT = 50;
 
-        if (numWorkers == 0) {
-            return new SchedulingResult(false, shiftsResult, Arrays.asList("No active employees found"));
-        }
+    static {
+        // JNI linking happens once per class loader, not on every solve
+        Loader.loadNativeLibraries();
+    }
 
-        CpModel model = new CpModel();
+    public static SchedulingResult scheduleDuties(List<Employee> employees, LocalDate startDate, LocalDate endDate,
+                                                  List<AdminConstraint> adminConstraints, List<LocalDate> holidays) {
+        return scheduleDuties(employees, startDate, endDate, adminConstraints, holidays, new SchedulingOptions());
+    }
 
-        // Decision variables: x[w][d] = 1 if worker w is assigned on day d
-        Literal[][] shifts = new Literal[numWorkers][numDays];
-        for (int w = 0; w < numWorkers; w++) {
-            for (int d = 0; d < numDays; d++) {
-                shifts[w][d] = model.newBoolVar("shifts_" + w + "_" + d);
-            }
-        }
+    public static SchedulingResult scheduleDuties(List<Employee> employees, LocalDate startDate, LocalDate endDate,
+                                                  List<AdminConstraint> adminConstraints, List<LocalDate> holidays,
+                                                  SchedulingOptions options) {
+        return scheduleDuties(SchedulingProblem.of(employees, startDate, endDate, adminConstraints, holidays),
+                options);
+    }
 
-        // Constraint 1: Each day must be assigned to exactly one worker
-        for (int d = 0; d < numDays; d++) {
-            List<Literal> dailyAssignments = new ArrayList<>();
-            for (int w = 0; w < numWorkers; w++) {
-                dailyAssignments.add(shifts[w][d]);
-            }
-            model.addExactlyOne(dailyAssignments);
+    /**
+     * Builds and solves the model from the snapshot alone; no entity is touched until the solution is mapped back
+     * to {@link Shift}s.
+     */
+    public static SchedulingResult scheduleDuties(SchedulingProblem problem, SchedulingOptions options) {
+        if (options.getSolverProfile().getDecomposition() != Decomposition.NONE) {
+            return DecomposedDutyScheduler.scheduleDuties(problem, options);
         }
 
-        // Constraint 2: Admin constraints (hard constraints)
-        addAdminConstraints(model, shifts, employees, adminConstraints, startDate, numDays, warnings);
-
-        // Constraint 3: Assignments should be evenly distributed considering previous year
-        addFairnessConstraints(model, shifts, employees, numDays, warnings);
+        int numDays = problem.getNumDays();
+        int numWorkers = problem.getNumWorkers();
+        List<Shift> shiftsResult = new ArrayList<>(numDays);
+        List<String> warnings = new ArrayList<>();
 
-        // Constraint 4: No consecutive assignments (configurable window)
-        addConsecutiveConstraints(model, shifts, numWorkers, numDays);
+        if (numWorkers == 0) {
+            return new SchedulingResult(false, shiftsResult, Arrays.asList("No active employees found"));
+        }
 
-        // Objective: Minimize violations of preferred off dates and balance holiday assignments
-        LinearExprBuilder obj = LinearExpr.newBuilder();
-        addObjectiveTerms(obj, shifts, employees, startDate, numDays, holidays);
-        model.minimize(obj);
+        ShiftModel shiftModel = buildModel(problem, options, warnings);
+        BoolVar[][] shifts = shiftModel.getShifts();
 
         // Solve the model
+        SolverProfile profile = options.getSolverProfile();
         CpSolver solver = new CpSolver();
-        solver.getParameters().setMaxTimeInSeconds(30.0); // Set time limit
-        CpSolverStatus status = solver.solve(model);
+        profile.applyTo(solver.getParameters());
+        CpSolverStatus status = solver.solve(shiftModel.getModel(), new ProgressCallback(options.getProgressListener()));
 
         boolean success = false;
+        List<SchedulingConflict> conflicts = List.of();
         if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
             success = true;
             for (int d = 0; d < numDays; d++) {
                 for (int w = 0; w < numWorkers; w++) {
-                    if (solver.booleanValue(shifts[w][d])) {
-                        shiftsResult.add(new Shift(employees.get(w), startDate.plusDays(d)));
+                    if (shifts[w][d] != null && solver.booleanValue(shifts[w][d])) {
+                        shiftsResult.add(problem.toShift(w, d));
                     }
                 }
             }
@@ -79,19 +87,33 @@ public class DutyScheduler {
             // Provide more detailed diagnostics for infeasible problems
             if (status == CpSolverStatus.INFEASIBLE) {
                 warnings.add("❌ Schedule creation failed: Problem is INFEASIBLE");
-                warnings.add("Possible causes:");
-                warnings.add("- Too many admin constraints (hard constraints cannot be satisfied)");
-                warnings.add("- Not enough employees for the workload");
-                warnings.add("- Fairness constraints too strict");
-                warnings.add("Suggestions:");
-                warnings.add("- Review admin constraints for conflicts");
-                warnings.add("- Consider adding more employees");
-                warnings.add("- Relax fairness requirements");
+                List<SchedulingConflict> diagnosed = options.isDiagnoseInfeasibility()
+                        ? InfeasibilityDiagnoser.diagnose(problem, options)
+                        : null;
+                if (diagnosed == null) {
+                    warnings.add("Possible causes:");
+                    warnings.add("- Too many admin constraints (hard constraints cannot be satisfied)");
+                    warnings.add("- Not enough employees for the workload");
+                    warnings.add("- Fairness constraints too strict");
+                    warnings.add("Suggestions:");
+                    warnings.add("- Review admin constraints for conflicts");
+                    warnings.add("- Consider adding more employees");
+                    warnings.add("- Relax fairness requirements");
+                } else if (diagnosed.isEmpty()) {
+                    warnings.add("Not even dropping all admin constraints, fairness bounds and rest windows helps; " +
+                            "check the shifts kept fixed around the rescheduled range");
+                } else {
+                    conflicts = diagnosed;
+                    warnings.add("These requirements cannot all hold; relaxing one of them may resolve the conflict:");
+                    for (SchedulingConflict conflict : conflicts) {
+                        warnings.add("- " + conflict.getDescription());
+                    }
+                }
 
                 System.out.println("❌ INFEASIBLE: Cannot create schedule with current constraints");
                 System.out.println("   Employees: " + numWorkers);
                 System.out.println("   Days: " + numDays);
-                System.out.println("   Admin constraints: " + adminConstraints.size());
+                System.out.println("   Admin constraints: " + problem.getAdminConstraintCount());
                 System.out.println("   Avg shifts per employee: " + (numDays / (double) numWorkers));
             } else {
                 warnings.add("❌ Schedule creation failed with status: " + status);
@@ -99,117 +121,488 @@ public class DutyScheduler {
             System.out.println("❌ No solution found: " + status);
         }
 
-        return new SchedulingResult(success, shiftsResult, warnings);
+        SchedulingResult result = new SchedulingResult(success, shiftsResult, warnings);
+        result.setConflicts(conflicts);
+        result.setSolverStatistics(profile.getName(), status.name(), success ? solver.objectiveValue() : null,
+                success ? solver.bestObjectiveBound() : null, solver.wallTime());
+        if (success) {
+            result.setFairness(FairnessSummary.of(problem, shiftsResult));
+            result.setObjectiveBreakdown(ObjectiveBreakdown.of(problem, shiftsResult));
+        }
+        System.out.println("Solver profile '" + profile.getName() + "' finished with " + status + " in " +
+                String.format("%.2f", solver.wallTime()) + "s" +
+                (success ? " (gap " + String.format("%.4f", result.getRelativeGap()) + ", " + result.getFairness() + ")"
+                        : ""));
+        return result;
     }
 
-    private static void addAdminConstraints(CpModel model, Literal[][] shifts, List<Employee> employees,
-                                            List<AdminConstraint> adminConstraints, LocalDate startDate,
-                                            int numDays, List<String> warnings) {
-        for (AdminConstraint constraint : adminConstraints) {
-            int workerIndex = employees.indexOf(constraint.getEmployee());
-            if (workerIndex >= 0) {
-                int dayIndex = (int) ChronoUnit.DAYS.between(startDate, constraint.getConstraintDate());
-                if (dayIndex >= 0 && dayIndex < numDays) {
-                    // Hard constraint - this worker cannot work this day
-                    model.addEquality(shifts[workerIndex][dayIndex], 0);
-                    System.out.println("Applied admin constraint: " + constraint.getEmployee().getName() +
-                            " cannot work on " + constraint.getConstraintDate() +
-                            " (Reason: " + constraint.getReason() + ")");
+    /**
+     * Creates a variable only for eligible worker/day cells. Days blocked by an admin constraint, or too close to a
+     * fixed shift just outside the horizon, are left out of the model ({@code null} in the returned matrix) instead
+     * of being created and pinned to 0, so model size shrinks with constraint density.
+     */
+    static ShiftModel buildModel(SchedulingProblem problem, SchedulingOptions options, List<String> warnings) {
+        int numDays = problem.getNumDays();
+        int numWorkers = problem.getNumWorkers();
+        CpModel model = new CpModel();
+
+        // Constraint 2: Admin constraints (hard constraints) and boundary constraints decide eligibility
+        BitSet[] ineligible = SchedulingRules.ineligibleCells(problem, options.getFixedAssignments());
+
+        // Decision variables: x[w][d] = 1 if worker w is assigned on day d
+        BoolVar[][] shifts = new BoolVar[numWorkers][numDays];
+        int variableCount = 0;
+        for (int w = 0; w < numWorkers; w++) {
+            for (int d = 0; d < numDays; d++) {
+                if (!ineligible[w].get(d)) {
+                    shifts[w][d] = model.newBoolVar("");
+                    variableCount++;
                 }
             }
         }
-    }
+        System.out.println("Created " + variableCount + " of " + (numWorkers * numDays) +
+                " assignment variables (" + problem.getAdminConstraintCount() + " admin constraints)");
 
-    private static void addFairnessConstraints(CpModel model, Literal[][] shifts, List<Employee> employees,
-                                               int numDays, List<String> warnings) {
-        // Calculate target assignments considering previous year
-        int baseAssignments = numDays / employees.size();
-        int remainder = numDays % employees.size();
+        // Constraint 1: Each day must be assigned to exactly one worker
+        List<Literal> dailyAssignments = new ArrayList<>(numWorkers);
+        for (int d = 0; d < numDays; d++) {
+            dailyAssignments.clear();
+            for (int w = 0; w < numWorkers; w++) {
+                if (shifts[w][d] != null) {
+                    dailyAssignments.add(shifts[w][d]);
+                }
+            }
+            if (dailyAssignments.isEmpty()) {
+                // An empty exactly-one makes the model infeasible, which is the right outcome
+                warnings.add("No employee is available on " + problem.dateOf(d));
+            }
+            model.addExactlyOne(dailyAssignments);
+        }
+
+        // Constraint 3: Assignments should be evenly distributed considering previous year
+        LinearExprBuilder obj = LinearExpr.newBuilder();
+        addFairnessConstraints(model, obj, shifts, problem, warnings, options);
+
+        // Constraint 4: No consecutive assignments (per-worker rest window)
+        addRestWindowConstraints(model, shifts, problem, options.getSolverProfile().getRestWindowEncoding());
 
-        for (int w = 0; w < employees.size(); w++) {
-            Employee employee = employees.get(w);
+        // Constraint 5: Differ from reference schedules on enough days
+        addDiversityConstraints(model, shifts, problem, options);
 
-            // More relaxed fairness - just ensure everyone gets roughly equal assignments
-            int minAssignments = baseAssignments;
-            int maxAssignments = baseAssignments + (w < remainder ? 1 : 0);
+        // Objective: Minimize violations of preferred off dates plus the fairness spreads
+        addObjectiveTerms(obj, shifts, problem);
+        if (options.getHintAssignments().isEmpty()) {
+            addRotationHints(model, shifts, problem, options.getTargetShiftCounts().isEmpty());
+        } else {
+            addSolutionHints(model, obj, shifts, problem, options);
+        }
+        model.minimize(obj);
 
-            // Add some flexibility to avoid infeasibility
-            minAssignments = Math.max(1, minAssignments - 5); // Allow 5 fewer
-            maxAssignments = maxAssignments + 5; // Allow 5 more
+        return new ShiftModel(model, shifts, variableCount);
+    }
+
+    /**
+     * Gives every employee integer counters for total, weekend and holiday shifts and minimizes the max - min spread
+     * of each across the team. The total is balanced on the cumulative load including last year's shifts, unless
+     * explicit targets (which already carry the running counts of a split horizon) are given.
+     */
+    private static void addFairnessConstraints(CpModel model, LinearExprBuilder obj, BoolVar[][] shifts,
+                                               SchedulingProblem problem, List<String> warnings,
+                                               SchedulingOptions options) {
+        int numDays = problem.getNumDays();
+        int numWorkers = problem.getNumWorkers();
+        int baseAssignments = numDays / numWorkers;
+        int tolerance = options.getFairnessTolerance();
+        boolean carryPreviousYear = options.getTargetShiftCounts().isEmpty();
+        int weekendDays = problem.getWeekendDayCount();
+        int holidayDays = problem.getHolidayCount();
+
+        IntVar[] totalCounts = new IntVar[numWorkers];
+        IntVar[] weekendCounts = new IntVar[numWorkers];
+        IntVar[] holidayCounts = new IntVar[numWorkers];
+        int[] carry = new int[numWorkers];
+        int[] noCarry = new int[numWorkers];
+        int[] minTotals = new int[numWorkers];
+        int[] maxTotals = new int[numWorkers];
+        int[] maxWeekends = new int[numWorkers];
+        int[] maxHolidays = new int[numWorkers];
+        for (int w = 0; w < numWorkers; w++) {
+            int minAssignments = SchedulingRules.minShifts(problem, options, w);
+            int maxAssignments = SchedulingRules.maxShifts(problem, options, w);
 
             LinearExprBuilder shiftsWorked = LinearExpr.newBuilder();
+            LinearExprBuilder weekendsWorked = LinearExpr.newBuilder();
+            LinearExprBuilder holidaysWorked = LinearExpr.newBuilder();
             for (int d = 0; d < numDays; d++) {
-                shiftsWorked.add(shifts[w][d]);
+                if (shifts[w][d] != null) {
+                    shiftsWorked.add(shifts[w][d]);
+                    if (problem.isWeekend(d)) {
+                        weekendsWorked.add(shifts[w][d]);
+                        maxWeekends[w]++;
+                    }
+                    if (problem.isHoliday(d)) {
+                        holidaysWorked.add(shifts[w][d]);
+                        maxHolidays[w]++;
+                    }
+                }
             }
 
-            model.addLinearConstraint(shiftsWorked, minAssignments, maxAssignments);
-
-            int previousShifts = employee.getPreviousYearShifts();
+            minTotals[w] = minAssignments;
+            maxTotals[w] = maxAssignments;
+            totalCounts[w] = model.newIntVar(minAssignments, maxAssignments, "");
+            model.addEquality(totalCounts[w], shiftsWorked);
+            weekendCounts[w] = model.newIntVar(0, maxWeekends[w], "");
+            model.addEquality(weekendCounts[w], weekendsWorked);
+            holidayCounts[w] = model.newIntVar(0, maxHolidays[w], "");
+            model.addEquality(holidayCounts[w], holidaysWorked);
+            carry[w] = carryPreviousYear ? problem.getPreviousYearShifts(w) : 0;
+
+            int previousShifts = problem.getPreviousYearShifts(w);
             if (previousShifts > baseAssignments * 1.5) {
-                warnings.add("Employee " + employee.getName() + " worked significantly more shifts last year (" +
-                        previousShifts + "). Will try to balance assignments.");
+                warnings.add("Employee " + problem.getEmployeeName(w) +
+                        " worked significantly more shifts last year (" + previousShifts +
+                        "). Will try to balance assignments.");
             }
         }
 
+        ScheduleEmphasis emphasis = options.getEmphasis();
+        addSpread(model, obj, totalCounts, carry, minTotals, maxTotals, numDays,
+                LOAD_SPREAD_WEIGHT * emphasis.getLoadFactor());
+        if (weekendDays > 0) {
+            addSpread(model, obj, weekendCounts, noCarry, noCarry, maxWeekends, weekendDays,
+                    WEEKEND_SPREAD_WEIGHT * emphasis.getWeekendFactor());
+        }
+        if (holidayDays > 0) {
+            addSpread(model, obj, holidayCounts, noCarry, noCarry, maxHolidays, holidayDays,
+                    HOLIDAY_SPREAD_WEIGHT * emphasis.getHolidayFactor());
+        }
+
         System.out.println("Fairness constraints applied - Base assignments per employee: " + baseAssignments +
-                " (±5 flexibility)");
+                " (±" + tolerance + " flexibility, " + (carryPreviousYear ? "with" : "without") +
+                " previous-year carry)");
     }
 
-    private static void addConsecutiveConstraints(CpModel model, Literal[][] shifts, int numWorkers, int numDays) {
-        // Relax consecutive constraints to avoid infeasibility
-        // No more than 3 consecutive assignments (was 2, now more flexible)
-        int maxConsecutive = 3;
+    /**
+     * Adds {@code weight * (max - min)} of {@code counts[w] + offsets[w]} to the objective. Every day is assigned
+     * exactly once, so the counts add up to {@code sum}; water-filling that sum over the counter ranges gives a valid
+     * lower bound for the max and upper bound for the min. Stating those and the sum explicitly lets CP-SAT prove a
+     * balanced schedule optimal instead of searching for one with a smaller spread.
+     */
+    private static void addSpread(CpModel model, LinearExprBuilder obj, IntVar[] counts, int[] offsets,
+                                  int[] lower, int[] upper, int sum, long weight) {
+        int numCounts = counts.length;
+        LinearArgument[] values = new LinearArgument[numCounts];
+        int lowest = Integer.MAX_VALUE;
+        int highest = Integer.MIN_VALUE;
+        for (int i = 0; i < numCounts; i++) {
+            values[i] = LinearExpr.newBuilder().add(counts[i]).add(offsets[i]).build();
+            lowest = Math.min(lowest, lower[i] + offsets[i]);
+            highest = Math.max(highest, upper[i] + offsets[i]);
+        }
+        model.addEquality(LinearExpr.sum(counts), sum);
 
-        for (int w = 0; w < numWorkers; w++) {
-            for (int d = 0; d <= numDays - maxConsecutive - 1; d++) {
-                List<Literal> consecutiveShifts = new ArrayList<>();
-                for (int i = 0; i <= maxConsecutive; i++) {
-                    consecutiveShifts.add(shifts[w][d + i]);
+        // Smallest level whose capped counts can still reach the sum, largest level whose floors don't exceed it
+        int maxAtLeast = lowest;
+        while (maxAtLeast < highest && fill(maxAtLeast, offsets, lower, upper) < sum) {
+            maxAtLeast++;
+        }
+        int minAtMost = highest;
+        while (minAtMost > lowest && fill(minAtMost, offsets, lower, upper) > sum) {
+            minAtMost--;
+        }
+
+        IntVar max = model.newIntVar(maxAtLeast, highest, "");
+        IntVar min = model.newIntVar(lowest, minAtMost, "");
+        model.addMaxEquality(max, values);
+        model.addMinEquality(min, values);
+        obj.addTerm(max, weight).addTerm(min, -weight);
+    }
+
+    private static long fill(int level, int[] offsets, int[] lower, int[] upper) {
+        long filled = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            filled += Math.max(lower[i], Math.min(upper[i], level - offsets[i]));
+        }
+        return filled;
+    }
+
+    private static void addRestWindowConstraints(CpModel model, BoolVar[][] shifts, SchedulingProblem problem,
+                                                 RestWindowEncoding encoding) {
+        Map<RestWindowEncoding, Integer> workersByEncoding = new EnumMap<>(RestWindowEncoding.class);
+        IntVar unavailable = null;
+        for (int w = 0; w < problem.getNumWorkers(); w++) {
+            int restDays = problem.getRestDays(w);
+            if (restDays == 0) {
+                continue;
+            }
+            RestWindowEncoding workerEncoding = encoding == RestWindowEncoding.AUTO
+                    ? chooseRestWindowEncoding(restDays)
+                    : encoding;
+            switch (workerEncoding) {
+                case NO_OVERLAP -> addNoOverlapRestWindow(model, shifts[w], restDays);
+                case AUTOMATON -> {
+                    if (unavailable == null) {
+                        unavailable = model.newConstant(0);
+                    }
+                    addAutomatonRestWindow(model, shifts[w], restDays, unavailable);
                 }
-                model.addAtMostOne(consecutiveShifts);
+                default -> addSlidingRestWindow(model, shifts[w], restDays);
             }
+            workersByEncoding.merge(workerEncoding, 1, Integer::sum);
         }
 
-        System.out.println("Applied consecutive shift constraints (max " + maxConsecutive + " consecutive)");
+        System.out.println("Applied rest window constraints (max " + problem.getMaxRestDays() + " rest days): " +
+                workersByEncoding);
     }
 
-    private static void addObjectiveTerms(LinearExprBuilder obj, Literal[][] shifts, List<Employee> employees,
-                                          LocalDate startDate, int numDays, List<LocalDate> holidays) {
-        for (int w = 0; w < employees.size(); w++) {
-            Employee worker = employees.get(w);
-            for (int d = 0; d < numDays; d++) {
-                LocalDate date = startDate.plusDays(d);
-                long penalty = 0;
+    /**
+     * Sliding windows grow with {@code days * (restDays + 1)} while the automaton stays at one reference per day, but
+     * CP-SAT presolve merges the overlapping windows into cliques and expands the automaton, so sliding windows
+     * presolve and solve fastest for every rest window measured (see RestWindowEncodingTest). Only longer windows
+     * switch to the automaton to keep the model size flat.
+     */
+    static RestWindowEncoding chooseRestWindowEncoding(int restDays) {
+        return restDays <= AUTO_SLIDING_MAX_REST_DAYS ? RestWindowEncoding.SLIDING_WINDOW
+                : RestWindowEncoding.AUTOMATON;
+    }
 
-                // High penalty for preferred off dates
-                if (worker.getOffDates().stream().anyMatch(offDate -> offDate.getOffDate().equals(date))) {
-                    penalty += 100;
+    private static void addSlidingRestWindow(CpModel model, BoolVar[] workerShifts, int restDays) {
+        // A horizon no longer than the rest window (a short reschedule) still gets one window, cut to the horizon
+        for (int d = 0; d <= Math.max(0, workerShifts.length - restDays - 1); d++) {
+            List<Literal> windowShifts = new ArrayList<>(restDays + 1);
+            for (int i = 0; i <= restDays && d + i < workerShifts.length; i++) {
+                if (workerShifts[d + i] != null) {
+                    windowShifts.add(workerShifts[d + i]);
                 }
+            }
+            if (windowShifts.size() > 1) {
+                model.addAtMostOne(windowShifts);
+            }
+        }
+    }
 
-                // Medium penalty for weekends to distribute fairly
-                if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
-                    penalty += 10;
+    private static void addNoOverlapRestWindow(CpModel model, BoolVar[] workerShifts, int restDays) {
+        // A shift on day d blocks [d, d + restDays]; the last intervals may reach past the horizon, which is harmless
+        List<IntervalVar> restIntervals = new ArrayList<>();
+        for (int d = 0; d < workerShifts.length; d++) {
+            if (workerShifts[d] != null) {
+                restIntervals.add(model.newOptionalFixedSizeIntervalVar(LinearExpr.constant(d), restDays + 1L,
+                        workerShifts[d], ""));
+            }
+        }
+        model.addNoOverlap(restIntervals);
+    }
+
+    private static void addAutomatonRestWindow(CpModel model, BoolVar[] workerShifts, int restDays,
+                                               IntVar unavailable) {
+        // State = rest days still owed; a shift is only allowed in state 0 and moves to state restDays
+        IntVar[] days = new IntVar[workerShifts.length];
+        for (int d = 0; d < workerShifts.length; d++) {
+            days[d] = workerShifts[d] != null ? workerShifts[d] : unavailable;
+        }
+        long[] finalStates = new long[restDays + 1];
+        for (int state = 0; state <= restDays; state++) {
+            finalStates[state] = state;
+        }
+        // AutomatonConstraint.addTransition is package-private in this OR-Tools version, so fill the proto directly
+        AutomatonConstraintProto.Builder automaton = model.addAutomaton(days, 0, finalStates).getBuilder()
+                .getAutomatonBuilder();
+        addTransition(automaton, 0, 0, 0);
+        addTransition(automaton, 0, restDays, 1);
+        for (int state = 1; state <= restDays; state++) {
+            addTransition(automaton, state, state - 1, 0);
+        }
+    }
+
+    private static void addTransition(AutomatonConstraintProto.Builder automaton, long tail, long head, long label) {
+        automaton.addTransitionTail(tail).addTransitionHead(head).addTransitionLabel(label);
+    }
+
+    private static void addObjectiveTerms(LinearExprBuilder obj, BoolVar[][] shifts, SchedulingProblem problem) {
+        for (int w = 0; w < problem.getNumWorkers(); w++) {
+            for (int d = 0; d < problem.getNumDays(); d++) {
+                long penalty = assignmentPenalty(problem, w, d);
+                if (penalty > 0 && shifts[w][d] != null) {
+                    obj.addTerm(shifts[w][d], penalty);
                 }
+            }
+        }
+    }
 
-                // High penalty for holidays to distribute fairly
-                if (holidays.contains(date)) {
-                    penalty += 50;
+    private static long assignmentPenalty(SchedulingProblem problem, int worker, int day) {
+        // High penalty for preferred off dates; weekend, holiday and yearly balance are spread terms
+        return problem.isOffDay(worker, day) ? OFF_DATE_PENALTY : 0;
+    }
+
+    /**
+     * Scores a finished schedule with the same off-date penalties and fairness spreads the solver minimizes, so
+     * schedules produced by different solving strategies can be compared.
+     */
+    public static long scoreSchedule(SchedulingProblem problem, List<Shift> shifts) {
+        return ObjectiveBreakdown.of(problem, shifts).getTotal();
+    }
+
+    /**
+     * Every day is assigned exactly once, so the Hamming distance to a reference schedule is twice the number of
+     * reassigned days, and "at least N days changed" is one linear row over the reference cells.
+     */
+    private static void addDiversityConstraints(CpModel model, BoolVar[][] shifts, SchedulingProblem problem,
+                                                SchedulingOptions options) {
+        if (options.getMinChangedDays() <= 0) {
+            return;
+        }
+        for (Map<LocalDate, Long> reference : options.getDivergeFrom()) {
+            LinearExprBuilder kept = LinearExpr.newBuilder();
+            int referenceDays = 0;
+            for (int d = 0; d < problem.getNumDays(); d++) {
+                Long employeeId = reference.get(problem.dateOf(d));
+                int worker = employeeId == null ? -1 : problem.workerIndex(employeeId);
+                if (worker < 0) {
+                    continue;
+                }
+                referenceDays++;
+                if (shifts[worker][d] != null) {
+                    kept.add(shifts[worker][d]);
                 }
+            }
+            model.addLessOrEqual(kept, referenceDays - Math.min(options.getMinChangedDays(), referenceDays));
+        }
+        System.out.println("Requiring at least " + options.getMinChangedDays() + " changed days against " +
+                options.getDivergeFrom().size() + " reference schedules");
+    }
 
-                // Small penalty based on previous year assignments (more = higher penalty)
-                penalty += worker.getPreviousYearShifts() / 10;
+    /**
+     * Counts pairs of shifts of the same employee that are closer than the employee's rest window allows.
+     */
+    public static int countConsecutiveViolations(SchedulingProblem problem, List<Shift> shifts) {
+        Map<Long, LocalDate> lastShiftByEmployee = new HashMap<>();
+        int violations = 0;
+        List<Shift> sorted = new ArrayList<>(shifts);
+        sorted.sort(Comparator.comparing(Shift::getShiftDate));
+        for (Shift shift : sorted) {
+            Long employeeId = shift.getEmployee().getId();
+            LocalDate previous = lastShiftByEmployee.put(employeeId, shift.getShiftDate());
+            int worker = problem.workerIndex(employeeId);
+            int restDays = worker >= 0 ? problem.getRestDays(worker) : DEFAULT_REST_DAYS;
+            if (previous != null && ChronoUnit.DAYS.between(previous, shift.getShiftDate()) <= restDays) {
+                violations++;
+            }
+        }
+        return violations;
+    }
 
-                if (penalty > 0) {
-                    obj.addTerm(shifts[w][d], penalty);
+    private static void addSolutionHints(CpModel model, LinearExprBuilder obj, BoolVar[][] shifts,
+                                         SchedulingProblem problem, SchedulingOptions options) {
+        Map<LocalDate, Long> hintAssignments = options.getHintAssignments();
+        if (hintAssignments.isEmpty()) {
+            return;
+        }
+
+        int numDays = problem.getNumDays();
+        int hintedDays = 0;
+        for (int d = 0; d < numDays; d++) {
+            Long employeeId = hintAssignments.get(problem.dateOf(d));
+            int hintedWorker = employeeId == null ? -1 : problem.workerIndex(employeeId);
+            if (hintedWorker < 0) {
+                continue;
+            }
+            hintedDays++;
+            for (int w = 0; w < problem.getNumWorkers(); w++) {
+                if (shifts[w][d] == null) {
+                    continue;
+                }
+                model.addHint(shifts[w][d], w == hintedWorker ? 1 : 0);
+                // Keep re-solves close to the hinted schedule
+                if (w != hintedWorker && options.getChurnPenalty() > 0) {
+                    obj.addTerm(shifts[w][d], options.getChurnPenalty());
                 }
             }
         }
+
+        System.out.println("Applied solution hints for " + hintedDays + " of " + numDays + " days");
+    }
+
+    /**
+     * Without a previous schedule to start from, the min-max fairness objective gives CP-SAT little guidance towards
+     * a first solution. A greedy rotation (each day to the rested, eligible employee with the lowest load who hasn't
+     * asked for the day off) is usually feasible and already close to balanced.
+     */
+    private static void addRotationHints(CpModel model, BoolVar[][] shifts, SchedulingProblem problem,
+                                         boolean carryPreviousYear) {
+        BitSet[] ineligible = new BitSet[problem.getNumWorkers()];
+        for (int w = 0; w < problem.getNumWorkers(); w++) {
+            ineligible[w] = new BitSet(problem.getNumDays());
+            for (int d = 0; d < problem.getNumDays(); d++) {
+                ineligible[w].set(d, shifts[w][d] == null);
+            }
+        }
+        int[] rotation = SchedulingRules.greedyRotation(problem, ineligible, carryPreviousYear);
+        for (int d = 0; d < problem.getNumDays(); d++) {
+            if (rotation[d] < 0) {
+                continue;
+            }
+            for (int w = 0; w < problem.getNumWorkers(); w++) {
+                if (shifts[w][d] != null) {
+                    model.addHint(shifts[w][d], w == rotation[d] ? 1 : 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * The CP-SAT model together with its assignment matrix; cells without a variable are {@code null}.
+     */
+    static final class ShiftModel {
+        private final CpModel model;
+        private final BoolVar[][] shifts;
+        private final int variableCount;
+
+        ShiftModel(CpModel model, BoolVar[][] shifts, int variableCount) {
+            this.model = model;
+            this.shifts = shifts;
+            this.variableCount = variableCount;
+        }
+
+        CpModel getModel() {
+            return model;
+        }
+
+        BoolVar[][] getShifts() {
+            return shifts;
+        }
+
+        int getVariableCount() {
+            return variableCount;
+        }
+    }
+
+    private static class ProgressCallback extends CpSolverSolutionCallback {
+        private final SchedulingProgressListener listener;
+        private int solutionCount;
+
+        ProgressCallback(SchedulingProgressListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onSolutionCallback() {
+            solutionCount++;
+            listener.onSolutionFound(solutionCount, objectiveValue(), bestObjectiveBound(), wallTime());
+        }
     }
 
     public static class SchedulingResult {
         private final boolean success;
         private final List<Shift> shifts;
         private final List<String> warnings;
+        private String solverProfile;
+        private String solverStatus;
+        private Double objectiveValue;
+        private Double bestObjectiveBound;
+        private double wallTimeSeconds;
+        private FairnessSummary fairness;
+        private List<SchedulingConflict> conflicts = List.of();
+        private ObjectiveBreakdown objectiveBreakdown;
 
         public SchedulingResult(boolean success, List<Shift> shifts, List<String> warnings) {
             this.success = success;
@@ -217,6 +610,15 @@ public class DutyScheduler {
             this.warnings = warnings;
         }
 
+        public void setSolverStatistics(String solverProfile, String solverStatus, Double objectiveValue,
+                                        Double bestObjectiveBound, double wallTimeSeconds) {
+            this.solverProfile = solverProfile;
+            this.solverStatus = solverStatus;
+            this.objectiveValue = objectiveValue;
+            this.bestObjectiveBound = bestObjectiveBound;
+            this.wallTimeSeconds = wallTimeSeconds;
+        }
+
         public boolean isSuccess() {
             return success;
         }
@@ -228,5 +630,65 @@ public class DutyScheduler {
         public List<String> getWarnings() {
             return warnings;
         }
+
+        public String getSolverProfile() {
+            return solverProfile;
+        }
+
+        public String getSolverStatus() {
+            return solverStatus;
+        }
+
+        public Double getObjectiveValue() {
+            return objectiveValue;
+        }
+
+        public Double getBestObjectiveBound() {
+            return bestObjectiveBound;
+        }
+
+        /**
+         * Relative optimality gap as CP-SAT defines it: |objective - bound| / max(1, |objective|).
+         */
+        public Double getRelativeGap() {
+            if (objectiveValue == null || bestObjectiveBound == null) {
+                return null;
+            }
+            return Math.abs(objectiveValue - bestObjectiveBound) / Math.max(1.0, Math.abs(objectiveValue));
+        }
+
+        public double getWallTimeSeconds() {
+            return wallTimeSeconds;
+        }
+
+        public FairnessSummary getFairness() {
+            return fairness;
+        }
+
+        public void setFairness(FairnessSummary fairness) {
+            this.fairness = fairness;
+        }
+
+        /**
+         * @return the requirements that make an INFEASIBLE problem unsolvable, empty if none were identified
+         */
+        public List<SchedulingConflict> getConflicts() {
+            return conflicts;
+        }
+
+        public void setConflicts(List<SchedulingConflict> conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        /**
+         * @return the standard objective of a successful schedule split into its terms, otherwise {@code null}
+         */
+        public ObjectiveBreakdown getObjectiveBreakdown() {
+            return objectiveBreakdown;
+        }
+
+        public void setObjectiveBreakdown(ObjectiveBreakdown objectiveBreakdown) {
+            this.objectiveBreakdown = objectiveBreakdown;
+        }
     }
 }
\ No newline at end of file
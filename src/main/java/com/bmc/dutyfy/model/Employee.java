@@ -1,6 +1,8 @@
 package com.bmc.dutyfy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -10,11 +12,14 @@ import java.util.List;
 
 @Entity
 @Table(name = "employees")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 @EntityListeners(AuditingEntityListener.class)
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -36,6 +41,10 @@ public class Employee {
     @Column(name = "previous_year_shifts")
     private Integer previousYearShifts = 0;
 
+    // Minimum days off between two shifts; null uses the default for the employee's role
+    @Column(name = "rest_days")
+    private Integer restDays;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdDate;
@@ -48,11 +57,16 @@ public class Employee {
     private List<Shift> shifts;
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee-off-dates")
     private List<PreferredOffDate> offDates;
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee-admin-constraints")
     private List<AdminConstraint> adminConstraints;
 
+    @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<EmployeeYearStats> yearStats;
+
     // Constructors
     public Employee() {
     }
@@ -122,6 +136,14 @@ public class Employee {
         this.previousYearShifts = previousYearShifts;
     }
 
+    public Integer getRestDays() {
+        return restDays;
+    }
+
+    public void setRestDays(Integer restDays) {
+        this.restDays = restDays;
+    }
+
     public LocalDateTime getCreatedDate() {
         return createdDate;
     }
@@ -162,6 +184,14 @@ public class Employee {
         this.adminConstraints = adminConstraints;
     }
 
+    public List<EmployeeYearStats> getYearStats() {
+        return yearStats;
+    }
+
+    public void setYearStats(List<EmployeeYearStats> yearStats) {
+        this.yearStats = yearStats;
+    }
+
     @Override
     public String toString() {
         return "Employee{" +
@@ -0,0 +1,130 @@
+package com.bmc.dutyfy.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Duty counts of one employee in one calendar year. The rows are kept up to date on every write of shifts (schedule
+ * commits, window reschedules and approved swaps), so fairness weighting and dashboards read one row per employee
+ * instead of counting shifts.
+ */
+@Entity
+@Table(name = "employee_year_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_employee_year_stats_employee_year",
+                columnNames = {"employee_id", "duty_year"}),
+        indexes = @Index(name = "idx_employee_year_stats_duty_year", columnList = "duty_year"))
+public class EmployeeYearStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_year_stats_seq")
+    @SequenceGenerator(name = "employee_year_stats_seq", sequenceName = "employee_year_stats_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "employee_id", nullable = false)
+    private Employee employee;
+
+    @Column(name = "duty_year", nullable = false)
+    private int year;
+
+    @Column(nullable = false)
+    private int totalShifts;
+
+    @Column(nullable = false)
+    private int weekendShifts;
+
+    @Column(nullable = false)
+    private int holidayShifts;
+
+    // Shifts of the year this employee gave away or took over through approved swap requests
+    @Column(nullable = false)
+    private int swappedShifts;
+
+    @Column(nullable = false)
+    private LocalDateTime lastModifiedDate;
+
+    public EmployeeYearStats() {
+    }
+
+    public EmployeeYearStats(Employee employee, int year) {
+        this.employee = employee;
+        this.year = year;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public int getTotalShifts() {
+        return totalShifts;
+    }
+
+    public void setTotalShifts(int totalShifts) {
+        this.totalShifts = totalShifts;
+    }
+
+    public int getWeekendShifts() {
+        return weekendShifts;
+    }
+
+    public void setWeekendShifts(int weekendShifts) {
+        this.weekendShifts = weekendShifts;
+    }
+
+    public int getHolidayShifts() {
+        return holidayShifts;
+    }
+
+    public void setHolidayShifts(int holidayShifts) {
+        this.holidayShifts = holidayShifts;
+    }
+
+    public int getSwappedShifts() {
+        return swappedShifts;
+    }
+
+    public void setSwappedShifts(int swappedShifts) {
+        this.swappedShifts = swappedShifts;
+    }
+
+    public LocalDateTime getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(LocalDateTime lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeYearStats{" +
+                "id=" + id +
+                ", employee=" + (employee != null ? employee.getName() : null) +
+                ", year=" + year +
+                ", totalShifts=" + totalShifts +
+                ", weekendShifts=" + weekendShifts +
+                ", holidayShifts=" + holidayShifts +
+                ", swappedShifts=" + swappedShifts +
+                '}';
+    }
+}
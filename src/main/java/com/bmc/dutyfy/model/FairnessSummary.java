@@ -0,0 +1,113 @@
+package com.bmc.dutyfy.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-employee shift counts of a schedule and the max - min spreads the solver minimizes. The load spread adds each
+ * employee's previous-year shifts to this schedule's total.
+ */
+public class FairnessSummary {
+    private final Map<Long, Integer> totalShifts;
+    private final Map<Long, Integer> weekendShifts;
+    private final Map<Long, Integer> holidayShifts;
+    private final int totalSpread;
+    private final int loadSpread;
+    private final int weekendSpread;
+    private final int holidaySpread;
+
+    private FairnessSummary(Map<Long, Integer> totalShifts, Map<Long, Integer> weekendShifts,
+                            Map<Long, Integer> holidayShifts, int totalSpread, int loadSpread, int weekendSpread,
+                            int holidaySpread) {
+        this.totalShifts = totalShifts;
+        this.weekendShifts = weekendShifts;
+        this.holidayShifts = holidayShifts;
+        this.totalSpread = totalSpread;
+        this.loadSpread = loadSpread;
+        this.weekendSpread = weekendSpread;
+        this.holidaySpread = holidaySpread;
+    }
+
+    public static FairnessSummary of(SchedulingProblem problem, List<Shift> shifts) {
+        int numWorkers = problem.getNumWorkers();
+        int[] totals = new int[numWorkers];
+        int[] weekends = new int[numWorkers];
+        int[] holidays = new int[numWorkers];
+        for (Shift shift : shifts) {
+            int worker = problem.workerIndex(shift.getEmployee().getId());
+            int day = problem.dayIndex(shift.getShiftDate());
+            if (worker < 0 || day < 0 || day >= problem.getNumDays()) {
+                continue;
+            }
+            totals[worker]++;
+            if (problem.isWeekend(day)) {
+                weekends[worker]++;
+            }
+            if (problem.isHoliday(day)) {
+                holidays[worker]++;
+            }
+        }
+
+        int[] loads = new int[numWorkers];
+        Map<Long, Integer> totalShifts = new LinkedHashMap<>();
+        Map<Long, Integer> weekendShifts = new LinkedHashMap<>();
+        Map<Long, Integer> holidayShifts = new LinkedHashMap<>();
+        for (int w = 0; w < numWorkers; w++) {
+            loads[w] = totals[w] + problem.getPreviousYearShifts(w);
+            totalShifts.put(problem.getEmployeeId(w), totals[w]);
+            weekendShifts.put(problem.getEmployeeId(w), weekends[w]);
+            holidayShifts.put(problem.getEmployeeId(w), holidays[w]);
+        }
+        return new FairnessSummary(totalShifts, weekendShifts, holidayShifts, spread(totals), spread(loads),
+                spread(weekends), spread(holidays));
+    }
+
+    private static int spread(int[] counts) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int count : counts) {
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+        }
+        return counts.length == 0 ? 0 : max - min;
+    }
+
+    public Map<Long, Integer> getTotalShifts() {
+        return totalShifts;
+    }
+
+    public Map<Long, Integer> getWeekendShifts() {
+        return weekendShifts;
+    }
+
+    public Map<Long, Integer> getHolidayShifts() {
+        return holidayShifts;
+    }
+
+    public int getTotalSpread() {
+        return totalSpread;
+    }
+
+    public int getLoadSpread() {
+        return loadSpread;
+    }
+
+    public int getWeekendSpread() {
+        return weekendSpread;
+    }
+
+    public int getHolidaySpread() {
+        return holidaySpread;
+    }
+
+    @Override
+    public String toString() {
+        return "FairnessSummary{" +
+                "totalSpread=" + totalSpread +
+                ", loadSpread=" + loadSpread +
+                ", weekendSpread=" + weekendSpread +
+                ", holidaySpread=" + holidaySpread +
+                '}';
+    }
+}
@@ -0,0 +1,372 @@
+package com.bmc.dutyfy.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pure-Java engine for interactive previews: starts from the greedy rotation (or the hinted schedule) and improves it
+ * with simulated annealing over reassign and swap moves. Everything lives in primitive arrays indexed like
+ * {@link SchedulingProblem}, so a year for a full team takes a few milliseconds to build and the rest of a fixed
+ * search budget to polish. Admin constraints and the boundary with fixed shifts are never violated; coverage, rest
+ * windows and shift-count bounds are hard penalties; the soft terms are the ones {@link DutyScheduler} minimizes.
+ * There is no optimality proof, so results are reported as FEASIBLE at best.
+ */
+public class LocalSearchSchedulingEngine implements SchedulingEngine {
+
+    // Annealing time after the start schedule is built; the whole call stays below 100 ms for a year
+    private static final long SEARCH_NANOS = TimeUnit.MILLISECONDS.toNanos(60);
+    // Cost of one broken hard rule (uncovered day, rest window clash, shift outside the bounds)
+    private static final long HARD_PENALTY = 10_000;
+    // Search cost per point of score, leaving room for the tie-breaking squares below it
+    private static final long SCORE_SCALE = 100;
+    // Spread terms change in steps of 10 to 50 points; hotter starts wander away from the balanced greedy rotation
+    // and don't find their way back within the budget
+    private static final double START_TEMPERATURE = 2.0 * SCORE_SCALE;
+    private static final double END_TEMPERATURE = 0.05 * SCORE_SCALE;
+    // Fixed seed, but the search stops on the clock rather than after a set number of moves, so the same input can
+    // still give a different preview from one run to the next
+    private static final long SEED = 42;
+
+    @Override
+    public String getName() {
+        return "local-search";
+    }
+
+    @Override
+    public DutyScheduler.SchedulingResult schedule(SchedulingProblem problem, SchedulingOptions options) {
+        long started = System.nanoTime();
+        int numDays = problem.getNumDays();
+        int numWorkers = problem.getNumWorkers();
+        List<String> warnings = new ArrayList<>();
+        if (numWorkers == 0) {
+            return new DutyScheduler.SchedulingResult(false, new ArrayList<>(), List.of("No active employees found"));
+        }
+
+        BitSet[] ineligible = SchedulingRules.ineligibleCells(problem, options.getFixedAssignments());
+        int[][] candidates = new int[numDays][];
+        for (int d = 0; d < numDays; d++) {
+            int count = 0;
+            int[] eligible = new int[numWorkers];
+            for (int w = 0; w < numWorkers; w++) {
+                if (!ineligible[w].get(d)) {
+                    eligible[count++] = w;
+                }
+            }
+            candidates[d] = Arrays.copyOf(eligible, count);
+            if (count == 0) {
+                warnings.add("No employee is available on " + problem.dateOf(d));
+            }
+        }
+
+        Schedule schedule = new Schedule(problem, options);
+        int[] start = startSchedule(problem, options, ineligible);
+        for (int d = 0; d < numDays; d++) {
+            if (start[d] < 0 && candidates[d].length > 0) {
+                start[d] = leastConflicting(schedule, start, candidates[d], d);
+            }
+        }
+        schedule.load(start);
+
+        long iterations = anneal(schedule, candidates, ineligible, new SplittableRandom(SEED));
+
+        List<Shift> shifts = new ArrayList<>(numDays);
+        boolean success = schedule.hardViolations() == 0;
+        if (success) {
+            for (int d = 0; d < numDays; d++) {
+                shifts.add(problem.toShift(schedule.assigned[d], d));
+            }
+        } else {
+            warnings.add("❌ Local search left " + schedule.uncovered + " days uncovered, " +
+                    schedule.restViolations + " rest window clashes and " + schedule.boundExcess +
+                    " shifts outside the fairness bounds");
+        }
+
+        double wallTime = (System.nanoTime() - started) / 1e9;
+        DutyScheduler.SchedulingResult result = new DutyScheduler.SchedulingResult(success, shifts, warnings);
+        result.setSolverStatistics(getName(), success ? "FEASIBLE" : "UNKNOWN",
+                success ? (double) schedule.softCost() : null, null, wallTime);
+        if (success) {
+            result.setFairness(FairnessSummary.of(problem, shifts));
+            result.setObjectiveBreakdown(ObjectiveBreakdown.of(problem, shifts));
+        }
+        System.out.println((success ? "✅" : "❌") + " Local search finished in " +
+                String.format("%.1f", wallTime * 1000) + " ms after " + iterations + " moves" +
+                (success ? " (score " + schedule.softCost() + ", " + result.getFairness() + ")" : ""));
+        return result;
+    }
+
+    /**
+     * Eligible hinted employees where available, the greedy rotation elsewhere; -1 where neither has anyone.
+     */
+    private static int[] startSchedule(SchedulingProblem problem, SchedulingOptions options, BitSet[] ineligible) {
+        int[] start = SchedulingRules.greedyRotation(problem, ineligible, options.getTargetShiftCounts().isEmpty());
+        if (options.getHintAssignments().isEmpty()) {
+            return start;
+        }
+        for (int d = 0; d < problem.getNumDays(); d++) {
+            Long employeeId = options.getHintAssignments().get(problem.dateOf(d));
+            int hinted = employeeId == null ? -1 : problem.workerIndex(employeeId);
+            if (hinted >= 0 && !ineligible[hinted].get(d)) {
+                start[d] = hinted;
+            }
+        }
+        return start;
+    }
+
+    private static int leastConflicting(Schedule schedule, int[] assignment, int[] candidates, int day) {
+        int best = candidates[0];
+        int bestConflicts = Integer.MAX_VALUE;
+        for (int w : candidates) {
+            int conflicts = schedule.conflicts(assignment, w, day);
+            if (conflicts < bestConflicts) {
+                best = w;
+                bestConflicts = conflicts;
+            }
+        }
+        return best;
+    }
+
+    private static long anneal(Schedule schedule, int[][] candidates, BitSet[] ineligible, SplittableRandom random) {
+        int numDays = schedule.assigned.length;
+        long started = System.nanoTime();
+        long cost = schedule.cost();
+        long bestCost = cost;
+        int[] best = schedule.assigned.clone();
+        double temperature = START_TEMPERATURE;
+        long iterations = 0;
+
+        while (true) {
+            if ((iterations & 255) == 0) {
+                long elapsed = System.nanoTime() - started;
+                if (elapsed >= SEARCH_NANOS) {
+                    break;
+                }
+                temperature = START_TEMPERATURE *
+                        Math.pow(END_TEMPERATURE / START_TEMPERATURE, (double) elapsed / SEARCH_NANOS);
+            }
+            iterations++;
+
+            int day = random.nextInt(numDays);
+            int current = schedule.assigned[day];
+            if (random.nextBoolean()) {
+                // Reassign a day to another eligible employee
+                if (candidates[day].length == 0) {
+                    continue;
+                }
+                int worker = candidates[day][random.nextInt(candidates[day].length)];
+                if (worker == current) {
+                    continue;
+                }
+                schedule.remove(day);
+                schedule.place(day, worker);
+                long next = schedule.cost();
+                if (accept(cost, next, temperature, random)) {
+                    cost = next;
+                } else {
+                    schedule.remove(day);
+                    schedule.place(day, current);
+                }
+            } else {
+                // Swap the employees of two days, which keeps everyone's count
+                int otherDay = random.nextInt(numDays);
+                int other = schedule.assigned[otherDay];
+                if (current < 0 || other < 0 || current == other ||
+                        ineligible[other].get(day) || ineligible[current].get(otherDay)) {
+                    continue;
+                }
+                schedule.remove(day);
+                schedule.remove(otherDay);
+                schedule.place(day, other);
+                schedule.place(otherDay, current);
+                long next = schedule.cost();
+                if (accept(cost, next, temperature, random)) {
+                    cost = next;
+                } else {
+                    schedule.remove(day);
+                    schedule.remove(otherDay);
+                    schedule.place(day, current);
+                    schedule.place(otherDay, other);
+                }
+            }
+
+            if (cost < bestCost) {
+                bestCost = cost;
+                System.arraycopy(schedule.assigned, 0, best, 0, numDays);
+            }
+        }
+
+        schedule.load(best);
+        return iterations;
+    }
+
+    private static boolean accept(long cost, long next, double temperature, SplittableRandom random) {
+        return next <= cost || random.nextDouble() < Math.exp((cost - next) / temperature);
+    }
+
+    /**
+     * Current assignment with incrementally maintained counters, so a move costs O(rest window + workers).
+     */
+    private static final class Schedule {
+        private final SchedulingProblem problem;
+        private final int[] assigned;
+        private final int[] totals;
+        private final int[] weekends;
+        private final int[] holidays;
+        private final int[] carry;
+        private final int[] minShifts;
+        private final int[] maxShifts;
+        private final int[] hinted;
+        private final int churnPenalty;
+        private int uncovered;
+        private int restViolations;
+        private int boundExcess;
+        private long offDatePenalties;
+        private long churn;
+        // Weighted sum of squared counts: strictly convex where the max - min spreads are flat
+        private long squares;
+
+        Schedule(SchedulingProblem problem, SchedulingOptions options) {
+            this.problem = problem;
+            int numWorkers = problem.getNumWorkers();
+            int numDays = problem.getNumDays();
+            assigned = new int[numDays];
+            totals = new int[numWorkers];
+            weekends = new int[numWorkers];
+            holidays = new int[numWorkers];
+            carry = new int[numWorkers];
+            minShifts = new int[numWorkers];
+            maxShifts = new int[numWorkers];
+            boolean carryPreviousYear = options.getTargetShiftCounts().isEmpty();
+            for (int w = 0; w < numWorkers; w++) {
+                carry[w] = carryPreviousYear ? problem.getPreviousYearShifts(w) : 0;
+                minShifts[w] = SchedulingRules.minShifts(problem, options, w);
+                maxShifts[w] = SchedulingRules.maxShifts(problem, options, w);
+            }
+            hinted = new int[numDays];
+            for (int d = 0; d < numDays; d++) {
+                Long employeeId = options.getHintAssignments().get(problem.dateOf(d));
+                hinted[d] = employeeId == null ? -1 : problem.workerIndex(employeeId);
+            }
+            churnPenalty = options.getChurnPenalty();
+        }
+
+        void load(int[] assignment) {
+            Arrays.fill(assigned, -1);
+            Arrays.fill(totals, 0);
+            Arrays.fill(weekends, 0);
+            Arrays.fill(holidays, 0);
+            uncovered = assigned.length;
+            restViolations = 0;
+            offDatePenalties = 0;
+            churn = 0;
+            squares = 0;
+            boundExcess = 0;
+            for (int w = 0; w < totals.length; w++) {
+                boundExcess += excess(w);
+                squares += DutyScheduler.LOAD_SPREAD_WEIGHT * carry[w] * carry[w];
+            }
+            for (int d = 0; d < assignment.length; d++) {
+                if (assignment[d] >= 0) {
+                    place(d, assignment[d]);
+                }
+            }
+        }
+
+        void place(int day, int worker) {
+            uncovered--;
+            restViolations += conflicts(assigned, worker, day);
+            assigned[day] = worker;
+            count(worker, day, 1);
+        }
+
+        void remove(int day) {
+            int worker = assigned[day];
+            if (worker < 0) {
+                return;
+            }
+            assigned[day] = -1;
+            restViolations -= conflicts(assigned, worker, day);
+            uncovered++;
+            count(worker, day, -1);
+        }
+
+        private void count(int worker, int day, int delta) {
+            boundExcess -= excess(worker);
+            squares += DutyScheduler.LOAD_SPREAD_WEIGHT * squareDelta(totals[worker] + carry[worker], delta);
+            totals[worker] += delta;
+            boundExcess += excess(worker);
+            if (problem.isWeekend(day)) {
+                squares += DutyScheduler.WEEKEND_SPREAD_WEIGHT * squareDelta(weekends[worker], delta);
+                weekends[worker] += delta;
+            }
+            if (problem.isHoliday(day)) {
+                squares += DutyScheduler.HOLIDAY_SPREAD_WEIGHT * squareDelta(holidays[worker], delta);
+                holidays[worker] += delta;
+            }
+            if (problem.isOffDay(worker, day)) {
+                offDatePenalties += delta * DutyScheduler.OFF_DATE_PENALTY;
+            }
+            if (hinted[day] >= 0 && hinted[day] != worker) {
+                churn += (long) delta * churnPenalty;
+            }
+        }
+
+        private static long squareDelta(int value, int delta) {
+            return (long) (value + delta) * (value + delta) - (long) value * value;
+        }
+
+        private int excess(int worker) {
+            return Math.max(0, minShifts[worker] - totals[worker]) + Math.max(0, totals[worker] - maxShifts[worker]);
+        }
+
+        /**
+         * Other days within the worker's rest window that the worker is assigned to.
+         */
+        int conflicts(int[] assignment, int worker, int day) {
+            int restDays = problem.getRestDays(worker);
+            int from = Math.max(0, day - restDays);
+            int to = Math.min(assignment.length - 1, day + restDays);
+            int conflicts = 0;
+            for (int d = from; d <= to; d++) {
+                if (d != day && assignment[d] == worker) {
+                    conflicts++;
+                }
+            }
+            return conflicts;
+        }
+
+        long hardViolations() {
+            return uncovered + restViolations + boundExcess;
+        }
+
+        long softCost() {
+            return DutyScheduler.LOAD_SPREAD_WEIGHT * spread(totals, carry) +
+                    DutyScheduler.WEEKEND_SPREAD_WEIGHT * spread(weekends, null) +
+                    DutyScheduler.HOLIDAY_SPREAD_WEIGHT * spread(holidays, null) +
+                    offDatePenalties + churn;
+        }
+
+        /**
+         * The reported score dominates; the squares only break ties between schedules with the same spreads, so
+         * moves towards the mean are rewarded even when they don't change the max or min yet.
+         */
+        long cost() {
+            return SCORE_SCALE * (HARD_PENALTY * hardViolations() + softCost()) + squares;
+        }
+
+        private static int spread(int[] counts, int[] offsets) {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < counts.length; i++) {
+                int value = counts[i] + (offsets == null ? 0 : offsets[i]);
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            return max - min;
+        }
+    }
+}
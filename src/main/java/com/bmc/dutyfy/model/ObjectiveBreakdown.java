@@ -0,0 +1,78 @@
+package com.bmc.dutyfy.model;
+
+import java.util.List;
+
+/**
+ * The standard objective of a schedule split into its terms, so alternatives can be compared on what they trade off
+ * (e.g. holiday balance against weekend balance) and not just on the total.
+ */
+public class ObjectiveBreakdown {
+    private final int offDateViolations;
+    private final long offDatePenalty;
+    private final long loadSpreadPenalty;
+    private final long weekendSpreadPenalty;
+    private final long holidaySpreadPenalty;
+
+    private ObjectiveBreakdown(int offDateViolations, long loadSpreadPenalty, long weekendSpreadPenalty,
+                               long holidaySpreadPenalty) {
+        this.offDateViolations = offDateViolations;
+        this.offDatePenalty = offDateViolations * DutyScheduler.OFF_DATE_PENALTY;
+        this.loadSpreadPenalty = loadSpreadPenalty;
+        this.weekendSpreadPenalty = weekendSpreadPenalty;
+        this.holidaySpreadPenalty = holidaySpreadPenalty;
+    }
+
+    public static ObjectiveBreakdown of(SchedulingProblem problem, List<Shift> shifts) {
+        FairnessSummary fairness = FairnessSummary.of(problem, shifts);
+        int offDateViolations = 0;
+        for (Shift shift : shifts) {
+            int worker = problem.workerIndex(shift.getEmployee().getId());
+            int day = problem.dayIndex(shift.getShiftDate());
+            if (worker >= 0 && day >= 0 && day < problem.getNumDays() && problem.isOffDay(worker, day)) {
+                offDateViolations++;
+            }
+        }
+        return new ObjectiveBreakdown(offDateViolations,
+                DutyScheduler.LOAD_SPREAD_WEIGHT * fairness.getLoadSpread(),
+                DutyScheduler.WEEKEND_SPREAD_WEIGHT * fairness.getWeekendSpread(),
+                DutyScheduler.HOLIDAY_SPREAD_WEIGHT * fairness.getHolidaySpread());
+    }
+
+    /**
+     * @return number of shifts on a preferred off date
+     */
+    public int getOffDateViolations() {
+        return offDateViolations;
+    }
+
+    public long getOffDatePenalty() {
+        return offDatePenalty;
+    }
+
+    public long getLoadSpreadPenalty() {
+        return loadSpreadPenalty;
+    }
+
+    public long getWeekendSpreadPenalty() {
+        return weekendSpreadPenalty;
+    }
+
+    public long getHolidaySpreadPenalty() {
+        return holidaySpreadPenalty;
+    }
+
+    public long getTotal() {
+        return offDatePenalty + loadSpreadPenalty + weekendSpreadPenalty + holidaySpreadPenalty;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectiveBreakdown{" +
+                "offDatePenalty=" + offDatePenalty +
+                ", loadSpreadPenalty=" + loadSpreadPenalty +
+                ", weekendSpreadPenalty=" + weekendSpreadPenalty +
+                ", holidaySpreadPenalty=" + holidaySpreadPenalty +
+                ", total=" + getTotal() +
+                '}';
+    }
+}
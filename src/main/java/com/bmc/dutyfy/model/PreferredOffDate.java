@@ -1,14 +1,22 @@
 package com.bmc.dutyfy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "preferred_off_dates")
+@Table(name = "preferred_off_dates", indexes = {
+        @Index(name = "idx_preferred_off_dates_off_date", columnList = "off_date"),
+        @Index(name = "idx_preferred_off_dates_employee_off_date", columnList = "employee_id, off_date")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "preferred-off-dates")
 public class PreferredOffDate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "preferred_off_dates_seq")
+    @SequenceGenerator(name = "preferred_off_dates_seq", sequenceName = "preferred_off_dates_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,23 @@
+package com.bmc.dutyfy.model;
+
+/**
+ * How the rest-window rule (at most one shift in any {@code restDays + 1} consecutive days) is encoded for CP-SAT.
+ */
+public enum RestWindowEncoding {
+    /**
+     * Sliding windows for rest windows up to two weeks, the automaton for longer ones (chosen per worker).
+     */
+    AUTO,
+    /**
+     * One at-most-one constraint per worker and start day.
+     */
+    SLIDING_WINDOW,
+    /**
+     * One optional interval of length {@code restDays + 1} per eligible day and one no-overlap per worker.
+     */
+    NO_OVERLAP,
+    /**
+     * One automaton per worker counting down the rest days after each shift.
+     */
+    AUTOMATON
+}
@@ -0,0 +1,34 @@
+package com.bmc.dutyfy.model;
+
+/**
+ * Which fairness term the CP-SAT objective leans on. Anything but {@link #BALANCED} multiplies one spread weight, so
+ * the solver trades the other terms for it; results are still scored with the standard weights.
+ */
+public enum ScheduleEmphasis {
+    BALANCED(1, 1, 1),
+    WEEKENDS(1, 4, 1),
+    HOLIDAYS(1, 1, 4),
+    LOAD(4, 1, 1);
+
+    private final int loadFactor;
+    private final int weekendFactor;
+    private final int holidayFactor;
+
+    ScheduleEmphasis(int loadFactor, int weekendFactor, int holidayFactor) {
+        this.loadFactor = loadFactor;
+        this.weekendFactor = weekendFactor;
+        this.holidayFactor = holidayFactor;
+    }
+
+    public int getLoadFactor() {
+        return loadFactor;
+    }
+
+    public int getWeekendFactor() {
+        return weekendFactor;
+    }
+
+    public int getHolidayFactor() {
+        return holidayFactor;
+    }
+}
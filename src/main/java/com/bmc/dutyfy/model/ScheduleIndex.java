@@ -0,0 +1,153 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of who is on duty on which day of one year, built once from the committed shifts and then shared
+ * by every reader without locking. Days are numbered from 0 (January 1st) and employees by their position in the
+ * snapshot:
+ * <ul>
+ *     <li>{@code employeeByDay[day]} is the employee on duty that day, or {@link #NO_EMPLOYEE}</li>
+ *     <li>{@code dutyDays[employee]} has a bit set for every day the employee has a shift</li>
+ * </ul>
+ * Employee names are taken as they were when the snapshot was built. When a date has more than one shift, the day
+ * array keeps the first one and the duty days of every employee on it are set.
+ */
+public class ScheduleIndex {
+    public static final int NO_EMPLOYEE = -1;
+
+    private final int year;
+    private final LocalDate firstDay;
+    private final List<ScheduledShift> shifts;
+    private final long[] employeeIds;
+    private final Map<Long, Integer> employeeIndexById;
+    private final int[] employeeByDay;
+    private final BitSet[] dutyDays;
+    // Each employee's shifts ordered by date, so the n-th set bit of their duty days is the n-th entry
+    private final List<List<ScheduledShift>> shiftsByEmployee;
+
+    private ScheduleIndex(int year, List<ScheduledShift> shifts, long[] employeeIds,
+                          Map<Long, Integer> employeeIndexById, int[] employeeByDay, BitSet[] dutyDays,
+                          List<List<ScheduledShift>> shiftsByEmployee) {
+        this.year = year;
+        this.firstDay = LocalDate.of(year, 1, 1);
+        this.shifts = shifts;
+        this.employeeIds = employeeIds;
+        this.employeeIndexById = employeeIndexById;
+        this.employeeByDay = employeeByDay;
+        this.dutyDays = dutyDays;
+        this.shiftsByEmployee = shiftsByEmployee;
+    }
+
+    /**
+     * Builds the index of {@code year} from its shifts ordered by date. Shifts outside the year are ignored.
+     */
+    public static ScheduleIndex of(int year, List<ScheduledShift> shifts) {
+        int days = LocalDate.of(year, 1, 1).lengthOfYear();
+        int[] employeeByDay = new int[days];
+        Arrays.fill(employeeByDay, NO_EMPLOYEE);
+        Map<Long, Integer> employeeIndexById = new LinkedHashMap<>();
+        List<BitSet> dutyDays = new ArrayList<>();
+        List<List<ScheduledShift>> shiftsByEmployee = new ArrayList<>();
+        List<ScheduledShift> yearShifts = new ArrayList<>();
+
+        for (ScheduledShift shift : shifts) {
+            if (shift.getShiftDate().getYear() != year) {
+                continue;
+            }
+            int day = shift.getShiftDate().getDayOfYear() - 1;
+            int employee = employeeIndexById.computeIfAbsent(shift.getEmployeeId(), id -> {
+                dutyDays.add(new BitSet(days));
+                shiftsByEmployee.add(new ArrayList<>());
+                return dutyDays.size() - 1;
+            });
+            yearShifts.add(shift);
+            if (employeeByDay[day] == NO_EMPLOYEE) {
+                employeeByDay[day] = employee;
+            }
+            if (!dutyDays.get(employee).get(day)) {
+                dutyDays.get(employee).set(day);
+                shiftsByEmployee.get(employee).add(shift);
+            }
+        }
+
+        long[] employeeIds = employeeIndexById.keySet().stream().mapToLong(Long::longValue).toArray();
+        List<List<ScheduledShift>> unmodifiableShiftsByEmployee = shiftsByEmployee.stream()
+                .map(Collections::unmodifiableList)
+                .toList();
+        return new ScheduleIndex(year, Collections.unmodifiableList(yearShifts), employeeIds,
+                new HashMap<>(employeeIndexById), employeeByDay, dutyDays.toArray(new BitSet[0]),
+                unmodifiableShiftsByEmployee);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return every shift of the year ordered by date
+     */
+    public List<ScheduledShift> getShifts() {
+        return shifts;
+    }
+
+    /**
+     * @return the id of the employee on duty on {@code date}, or {@code null} when the day has no shift or lies
+     * outside the year
+     */
+    public Long getEmployeeIdOn(LocalDate date) {
+        int day = dayOf(date);
+        if (day < 0 || employeeByDay[day] == NO_EMPLOYEE) {
+            return null;
+        }
+        return employeeIds[employeeByDay[day]];
+    }
+
+    public boolean isOnDuty(long employeeId, LocalDate date) {
+        Integer employee = employeeIndexById.get(employeeId);
+        int day = dayOf(date);
+        return employee != null && day >= 0 && dutyDays[employee].get(day);
+    }
+
+    /**
+     * @return the employee's shifts from {@code startDate} to {@code endDate} (inclusive, clamped to the year)
+     * ordered by date
+     */
+    public List<ScheduledShift> getShiftsFor(long employeeId, LocalDate startDate, LocalDate endDate) {
+        Integer employee = employeeIndexById.get(employeeId);
+        LocalDate from = startDate.isBefore(firstDay) ? firstDay : startDate;
+        LocalDate to = endDate.getYear() > year ? LocalDate.of(year, 12, 31) : endDate;
+        if (employee == null || from.getYear() != year || to.getYear() != year || to.isBefore(from)) {
+            return List.of();
+        }
+        BitSet days = dutyDays[employee];
+        int first = days.get(0, dayOf(from)).cardinality();
+        int last = first + days.get(dayOf(from), dayOf(to) + 1).cardinality();
+        return shiftsByEmployee.get(employee).subList(first, last);
+    }
+
+    /**
+     * @return the employee on duty per date, the shape the solvers take as hints
+     */
+    public Map<LocalDate, Long> getAssignments() {
+        Map<LocalDate, Long> assignments = new HashMap<>();
+        for (int day = 0; day < employeeByDay.length; day++) {
+            if (employeeByDay[day] != NO_EMPLOYEE) {
+                assignments.put(firstDay.plusDays(day), employeeIds[employeeByDay[day]]);
+            }
+        }
+        return assignments;
+    }
+
+    private int dayOf(LocalDate date) {
+        return date.getYear() == year ? date.getDayOfYear() - 1 : -1;
+    }
+}
@@ -0,0 +1,208 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * In-memory record of an asynchronous schedule creation or preview. Written by the solver pool, read by the status
+ * endpoint.
+ */
+public class ScheduleJob implements SchedulingProgressListener {
+    private final long id;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String solverProfile;
+    private final WarmStart warmStart;
+    private final boolean preview;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile ScheduleJobPhase phase = ScheduleJobPhase.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile int solutionsFound;
+    private volatile Double bestObjective;
+    private volatile Double bestObjectiveBound;
+    private volatile double solverWallTimeSeconds;
+    private volatile Double relativeGap;
+    private volatile int shiftCount;
+    private volatile FairnessSummary fairness;
+    private volatile List<String> warnings = List.of();
+    private volatile List<SchedulingConflict> conflicts = List.of();
+    private volatile String errorMessage;
+    private volatile List<String> previewKeys = List.of();
+
+    public ScheduleJob(long id, LocalDate startDate, LocalDate endDate, String solverProfile, WarmStart warmStart,
+                       boolean preview) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.solverProfile = solverProfile;
+        this.warmStart = warmStart;
+        this.preview = preview;
+    }
+
+    @Override
+    public void onPhaseChanged(ScheduleJobPhase phase) {
+        if (phase == ScheduleJobPhase.LOADING && startedAt == null) {
+            startedAt = LocalDateTime.now();
+        }
+        this.phase = phase;
+    }
+
+    @Override
+    public void onSolutionFound(int solutionCount, double objectiveValue, double bestObjectiveBound,
+                                double wallTimeSeconds) {
+        this.solutionsFound = solutionCount;
+        this.bestObjective = objectiveValue;
+        this.bestObjectiveBound = bestObjectiveBound;
+        this.solverWallTimeSeconds = wallTimeSeconds;
+    }
+
+    public void complete(DutyScheduler.SchedulingResult result) {
+        this.relativeGap = result.getRelativeGap();
+        this.solverWallTimeSeconds = result.getWallTimeSeconds();
+        this.shiftCount = result.getShifts().size();
+        this.fairness = result.getFairness();
+        this.warnings = List.copyOf(result.getWarnings());
+        this.conflicts = List.copyOf(result.getConflicts());
+        this.finishedAt = LocalDateTime.now();
+        this.phase = result.isSuccess() ? ScheduleJobPhase.COMPLETED : ScheduleJobPhase.FAILED;
+    }
+
+    /**
+     * Completes a preview job with the previews it cached; the first one gives the job its outcome and statistics.
+     */
+    public void completePreviews(List<SchedulePreview> previews) {
+        SchedulePreview first = previews.get(0);
+        this.previewKeys = previews.stream().map(SchedulePreview::getKey).toList();
+        this.solverWallTimeSeconds = first.getWallTimeSeconds();
+        this.shiftCount = first.getAssignments().size();
+        this.fairness = first.getFairness();
+        this.warnings = first.getWarnings();
+        this.conflicts = first.getConflicts();
+        this.finishedAt = LocalDateTime.now();
+        this.phase = first.isSuccess() ? ScheduleJobPhase.COMPLETED : ScheduleJobPhase.FAILED;
+    }
+
+    public void fail(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishedAt = LocalDateTime.now();
+        this.phase = ScheduleJobPhase.FAILED;
+    }
+
+    public boolean isFinished() {
+        return phase == ScheduleJobPhase.COMPLETED || phase == ScheduleJobPhase.FAILED;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getYear() {
+        return startDate.getYear();
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public boolean overlaps(LocalDate otherStart, LocalDate otherEnd) {
+        return !startDate.isAfter(otherEnd) && !endDate.isBefore(otherStart);
+    }
+
+    public String getSolverProfile() {
+        return solverProfile;
+    }
+
+    public WarmStart getWarmStart() {
+        return warmStart;
+    }
+
+    /**
+     * @return whether the job only previews a schedule, leaving the saved shifts alone
+     */
+    public boolean isPreview() {
+        return preview;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public ScheduleJobPhase getPhase() {
+        return phase;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public int getSolutionsFound() {
+        return solutionsFound;
+    }
+
+    public Double getBestObjective() {
+        return bestObjective;
+    }
+
+    public Double getBestObjectiveBound() {
+        return bestObjectiveBound;
+    }
+
+    public double getSolverWallTimeSeconds() {
+        return solverWallTimeSeconds;
+    }
+
+    public Double getRelativeGap() {
+        return relativeGap;
+    }
+
+    public int getShiftCount() {
+        return shiftCount;
+    }
+
+    public FairnessSummary getFairness() {
+        return fairness;
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public List<SchedulingConflict> getConflicts() {
+        return conflicts;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return keys of the previews a finished preview job cached, to fetch or commit them
+     */
+    public List<String> getPreviewKeys() {
+        return previewKeys;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleJob{" +
+                "id=" + id +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", solverProfile='" + solverProfile + '\'' +
+                ", phase=" + phase +
+                ", solutionsFound=" + solutionsFound +
+                ", bestObjective=" + bestObjective +
+                '}';
+    }
+}
@@ -0,0 +1,10 @@
+package com.bmc.dutyfy.model;
+
+public enum ScheduleJobPhase {
+    QUEUED,
+    LOADING,
+    SOLVING,
+    SAVING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,150 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A schedule that was solved but not saved. Identified by the fingerprint of its inputs, so the same inputs map to
+ * the same preview and a commit can check that nothing changed in between.
+ */
+public class SchedulePreview {
+    private final String key;
+    private final int year;
+    private final SchedulingEngineType engine;
+    private final String solverProfile;
+    private final WarmStart warmStart;
+    private final String variant;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final boolean success;
+    private final String solverStatus;
+    private final Double objectiveValue;
+    private final double wallTimeSeconds;
+    private final FairnessSummary fairness;
+    private final ObjectiveBreakdown objectiveBreakdown;
+    private final List<String> warnings;
+    private final List<SchedulingConflict> conflicts;
+    private final Map<LocalDate, String> assignments;
+    private volatile int cacheHits;
+
+    public SchedulePreview(String key, int year, SchedulingEngineType engine, String solverProfile,
+                           WarmStart warmStart, String variant, DutyScheduler.SchedulingResult result) {
+        this.key = key;
+        this.year = year;
+        this.engine = engine;
+        this.solverProfile = solverProfile;
+        this.warmStart = warmStart;
+        this.variant = variant;
+        this.success = result.isSuccess();
+        this.solverStatus = result.getSolverStatus();
+        this.objectiveValue = result.getObjectiveValue();
+        this.wallTimeSeconds = result.getWallTimeSeconds();
+        this.fairness = result.getFairness();
+        this.objectiveBreakdown = result.getObjectiveBreakdown();
+        this.warnings = List.copyOf(result.getWarnings());
+        this.conflicts = List.copyOf(result.getConflicts());
+        Map<LocalDate, String> assignments = new TreeMap<>();
+        for (Shift shift : result.getShifts()) {
+            assignments.put(shift.getShiftDate(), shift.getEmployee().getName());
+        }
+        this.assignments = Collections.unmodifiableMap(assignments);
+    }
+
+    public void recordCacheHit() {
+        cacheHits++;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public SchedulingEngineType getEngine() {
+        return engine;
+    }
+
+    public String getSolverProfile() {
+        return solverProfile;
+    }
+
+    public WarmStart getWarmStart() {
+        return warmStart;
+    }
+
+    /**
+     * @return which of several alternatives for the same inputs this is, e.g. "alternative 2 of 3 (3 requested, 30 days
+     * apart)", or {@code null} for a single preview
+     */
+    public String getVariant() {
+        return variant;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getSolverStatus() {
+        return solverStatus;
+    }
+
+    public Double getObjectiveValue() {
+        return objectiveValue;
+    }
+
+    public double getWallTimeSeconds() {
+        return wallTimeSeconds;
+    }
+
+    public FairnessSummary getFairness() {
+        return fairness;
+    }
+
+    public ObjectiveBreakdown getObjectiveBreakdown() {
+        return objectiveBreakdown;
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public List<SchedulingConflict> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * @return the employee name per date
+     */
+    public Map<LocalDate, String> getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * @return how often this preview was served from the cache instead of being solved again
+     */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulePreview{" +
+                "key='" + key + '\'' +
+                ", year=" + year +
+                ", engine=" + engine +
+                ", solverProfile='" + solverProfile + '\'' +
+                ", variant='" + variant + '\'' +
+                ", solverStatus='" + solverStatus + '\'' +
+                ", objectiveValue=" + objectiveValue +
+                '}';
+    }
+}
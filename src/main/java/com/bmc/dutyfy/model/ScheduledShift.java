@@ -0,0 +1,47 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a committed shift for pages that only display schedules: the shift id, its date and who is on
+ * duty, without the {@link Shift} and {@link Employee} entities behind them.
+ */
+public class ScheduledShift {
+    private final long id;
+    private final LocalDate shiftDate;
+    private final long employeeId;
+    private final String employeeName;
+
+    public ScheduledShift(long id, LocalDate shiftDate, long employeeId, String employeeName) {
+        this.id = id;
+        this.shiftDate = shiftDate;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDate getShiftDate() {
+        return shiftDate;
+    }
+
+    public long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledShift{" +
+                "id=" + id +
+                ", shiftDate=" + shiftDate +
+                ", employeeId=" + employeeId +
+                ", employeeName='" + employeeName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,102 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+
+/**
+ * One hard requirement that is part of the reason a schedule is infeasible. Together, the conflicts reported for a
+ * failed solve cannot all hold at once, while dropping any single one of them may already resolve the conflict.
+ */
+public class SchedulingConflict {
+
+    public enum Type {
+        /** The employee is blocked on the date by an admin constraint */
+        ADMIN_CONSTRAINT,
+        /** The employee must get at least {@code limit} shifts */
+        MIN_SHIFTS,
+        /** The employee may get at most {@code limit} shifts */
+        MAX_SHIFTS,
+        /** The employee needs {@code limit} days off between two shifts */
+        REST_WINDOW
+    }
+
+    private final Type type;
+    private final Long employeeId;
+    private final String employeeName;
+    private final Long adminConstraintId;
+    private final LocalDate date;
+    private final String reason;
+    private final int limit;
+
+    private SchedulingConflict(Type type, Long employeeId, String employeeName, Long adminConstraintId,
+                               LocalDate date, String reason, int limit) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.adminConstraintId = adminConstraintId;
+        this.date = date;
+        this.reason = reason;
+        this.limit = limit;
+    }
+
+    static SchedulingConflict adminConstraint(SchedulingProblem problem, int index) {
+        int worker = problem.getAdminConstraintWorker(index);
+        return new SchedulingConflict(Type.ADMIN_CONSTRAINT, problem.getEmployeeId(worker),
+                problem.getEmployeeName(worker), problem.getAdminConstraintId(index),
+                problem.dateOf(problem.getAdminConstraintDay(index)), problem.getAdminConstraintReason(index), 0);
+    }
+
+    static SchedulingConflict employeeLimit(SchedulingProblem problem, Type type, int worker, int limit) {
+        return new SchedulingConflict(type, problem.getEmployeeId(worker), problem.getEmployeeName(worker), null,
+                null, null, limit);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    /**
+     * @return the {@link AdminConstraint} row for {@link Type#ADMIN_CONSTRAINT}, otherwise {@code null}
+     */
+    public Long getAdminConstraintId() {
+        return adminConstraintId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return a line an admin can act on, e.g. for the warnings list and the failure email
+     */
+    public String getDescription() {
+        return switch (type) {
+            case ADMIN_CONSTRAINT -> "Admin constraint " +
+                    (adminConstraintId != null ? "#" + adminConstraintId + " " : "") + "blocks " + employeeName +
+                    " on " + date + (reason != null ? " (" + reason + ")" : "");
+            case MIN_SHIFTS -> employeeName + " must get at least " + limit + " shifts";
+            case MAX_SHIFTS -> employeeName + " may get at most " + limit + " shifts";
+            case REST_WINDOW -> employeeName + " needs " + limit + " rest days between shifts";
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulingConflict{" + getDescription() + '}';
+    }
+}
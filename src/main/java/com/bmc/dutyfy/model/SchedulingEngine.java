@@ -0,0 +1,11 @@
+package com.bmc.dutyfy.model;
+
+/**
+ * Turns a {@link SchedulingProblem} into shifts. Engines are stateless and may be shared between threads.
+ */
+public interface SchedulingEngine {
+
+    String getName();
+
+    DutyScheduler.SchedulingResult schedule(SchedulingProblem problem, SchedulingOptions options);
+}
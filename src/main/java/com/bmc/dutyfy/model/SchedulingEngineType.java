@@ -0,0 +1,21 @@
+package com.bmc.dutyfy.model;
+
+/**
+ * The scheduling engines a caller can choose from.
+ */
+public enum SchedulingEngineType {
+    /** CP-SAT model with the configured solver profile; slow but optimal or close to it. */
+    CP_SAT(new CpSatSchedulingEngine()),
+    /** Pure-Java greedy rotation plus simulated annealing; a plausible year in well under 100 ms, for previews. */
+    LOCAL_SEARCH(new LocalSearchSchedulingEngine());
+
+    private final SchedulingEngine engine;
+
+    SchedulingEngineType(SchedulingEngine engine) {
+        this.engine = engine;
+    }
+
+    public SchedulingEngine getEngine() {
+        return engine;
+    }
+}
@@ -0,0 +1,169 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-call settings for {@link DutyScheduler#scheduleDuties}.
+ */
+public class SchedulingOptions {
+    private SolverProfile solverProfile = new SolverProfile();
+    private SchedulingProgressListener progressListener = SchedulingProgressListener.NONE;
+    private Map<LocalDate, Long> hintAssignments = Map.of();
+    private int churnPenalty = 0;
+    private Map<LocalDate, Long> fixedAssignments = Map.of();
+    private Map<Long, Integer> targetShiftCounts = Map.of();
+    private int fairnessTolerance = 5;
+    private boolean diagnoseInfeasibility = true;
+    private ScheduleEmphasis emphasis = ScheduleEmphasis.BALANCED;
+    private List<Map<LocalDate, Long>> divergeFrom = List.of();
+    private int minChangedDays = 0;
+    private SubproblemExecutor subproblemExecutor = SubproblemExecutor.CALLER_THREAD;
+
+    /**
+     * Copy that shares the (immutable) maps but can be changed independently.
+     */
+    public SchedulingOptions copy() {
+        SchedulingOptions copy = new SchedulingOptions();
+        copy.solverProfile = solverProfile;
+        copy.progressListener = progressListener;
+        copy.hintAssignments = hintAssignments;
+        copy.churnPenalty = churnPenalty;
+        copy.fixedAssignments = fixedAssignments;
+        copy.targetShiftCounts = targetShiftCounts;
+        copy.fairnessTolerance = fairnessTolerance;
+        copy.diagnoseInfeasibility = diagnoseInfeasibility;
+        copy.emphasis = emphasis;
+        copy.divergeFrom = divergeFrom;
+        copy.minChangedDays = minChangedDays;
+        copy.subproblemExecutor = subproblemExecutor;
+        return copy;
+    }
+
+    public SolverProfile getSolverProfile() {
+        return solverProfile;
+    }
+
+    public void setSolverProfile(SolverProfile solverProfile) {
+        this.solverProfile = solverProfile;
+    }
+
+    public SchedulingProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    public void setProgressListener(SchedulingProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public Map<LocalDate, Long> getHintAssignments() {
+        return hintAssignments;
+    }
+
+    /**
+     * Employee id per date to use as a CP-SAT solution hint. Dates outside the solved range and employees that are
+     * not being scheduled are ignored.
+     */
+    public void setHintAssignments(Map<LocalDate, Long> hintAssignments) {
+        this.hintAssignments = hintAssignments;
+    }
+
+    public int getChurnPenalty() {
+        return churnPenalty;
+    }
+
+    /**
+     * Objective penalty for assigning a hinted day to someone other than the hinted employee.
+     */
+    public void setChurnPenalty(int churnPenalty) {
+        this.churnPenalty = churnPenalty;
+    }
+
+    public Map<LocalDate, Long> getFixedAssignments() {
+        return fixedAssignments;
+    }
+
+    /**
+     * Employee id per date for shifts just outside the solved range that stay as they are. They are not part of
+     * the model, but keep the no-consecutive-shifts rule correct across the range edges.
+     */
+    public void setFixedAssignments(Map<LocalDate, Long> fixedAssignments) {
+        this.fixedAssignments = fixedAssignments;
+    }
+
+    public Map<Long, Integer> getTargetShiftCounts() {
+        return targetShiftCounts;
+    }
+
+    /**
+     * Number of shifts per employee id to aim for in the solved range, instead of an even split of its days.
+     */
+    public void setTargetShiftCounts(Map<Long, Integer> targetShiftCounts) {
+        this.targetShiftCounts = targetShiftCounts;
+    }
+
+    public int getFairnessTolerance() {
+        return fairnessTolerance;
+    }
+
+    /**
+     * How many shifts an employee may be above or below their fair share. This is a hard bound, kept next to the
+     * spread objective that does the actual balancing: it caps how much last year's load can shift onto or off one
+     * employee this year, and it keeps the parts of a decomposed solve close to their targets.
+     */
+    public void setFairnessTolerance(int fairnessTolerance) {
+        this.fairnessTolerance = fairnessTolerance;
+    }
+
+    public boolean isDiagnoseInfeasibility() {
+        return diagnoseInfeasibility;
+    }
+
+    /**
+     * Whether an INFEASIBLE solve is followed by a conflict search that names the admin constraints, shift bounds
+     * and rest windows involved. Callers that retry with relaxed settings anyway can skip it.
+     */
+    public void setDiagnoseInfeasibility(boolean diagnoseInfeasibility) {
+        this.diagnoseInfeasibility = diagnoseInfeasibility;
+    }
+
+    public ScheduleEmphasis getEmphasis() {
+        return emphasis;
+    }
+
+    /**
+     * Which fairness term the objective leans on; {@link ScheduleEmphasis#BALANCED} uses the standard weights.
+     */
+    public void setEmphasis(ScheduleEmphasis emphasis) {
+        this.emphasis = emphasis;
+    }
+
+    public List<Map<LocalDate, Long>> getDivergeFrom() {
+        return divergeFrom;
+    }
+
+    public int getMinChangedDays() {
+        return minChangedDays;
+    }
+
+    /**
+     * Employee id per date of schedules the result must each differ from on at least {@code minChangedDays} of the
+     * solved days. Dates outside the solved range and employees that are not being scheduled are ignored.
+     */
+    public void setDivergeFrom(List<Map<LocalDate, Long>> divergeFrom, int minChangedDays) {
+        this.divergeFrom = divergeFrom;
+        this.minChangedDays = minChangedDays;
+    }
+
+    public SubproblemExecutor getSubproblemExecutor() {
+        return subproblemExecutor;
+    }
+
+    /**
+     * Where the parts of a decomposed solve run; by default one after the other on the calling thread.
+     */
+    public void setSubproblemExecutor(SubproblemExecutor subproblemExecutor) {
+        this.subproblemExecutor = subproblemExecutor;
+    }
+}
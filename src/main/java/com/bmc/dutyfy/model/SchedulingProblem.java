@@ -0,0 +1,383 @@
+package com.bmc.dutyfy.model;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable, index-based snapshot of everything the scheduler needs. It is built once from the JPA entities (inside
+ * the loading transaction) so model construction never touches lazy collections or scans entity lists.
+ * <p>
+ * Workers are addressed by their index in {@link #getEmployees()} and days by their offset from
+ * {@link #getStartDate()}. The employee entities are only kept to map the solution back to {@link Shift}s.
+ */
+public final class SchedulingProblem {
+    private final LocalDate startDate;
+    private final int numDays;
+    private final List<Employee> employees;
+    private final long[] employeeIds;
+    private final String[] employeeNames;
+    private final int[] previousYearShifts;
+    private final int[] restDays;
+    private final BitSet[] blockedDays;
+    private final BitSet[] offDays;
+    private final BitSet holidays;
+    private final BitSet weekends;
+    // One entry per admin constraint inside the horizon, kept apart from blockedDays so conflicts can name the row
+    private final Long[] adminConstraintIds;
+    private final int[] adminConstraintWorkers;
+    private final int[] adminConstraintDays;
+    private final String[] adminConstraintReasons;
+    private final Map<Long, Integer> workerIndexById;
+
+    private SchedulingProblem(LocalDate startDate, int numDays, List<Employee> employees, long[] employeeIds,
+                              String[] employeeNames, int[] previousYearShifts, int[] restDays,
+                              BitSet[] blockedDays, BitSet[] offDays, BitSet holidays, BitSet weekends,
+                              Long[] adminConstraintIds, int[] adminConstraintWorkers, int[] adminConstraintDays,
+                              String[] adminConstraintReasons) {
+        this.startDate = startDate;
+        this.numDays = numDays;
+        this.employees = employees;
+        this.employeeIds = employeeIds;
+        this.employeeNames = employeeNames;
+        this.previousYearShifts = previousYearShifts;
+        this.restDays = restDays;
+        this.blockedDays = blockedDays;
+        this.offDays = offDays;
+        this.holidays = holidays;
+        this.weekends = weekends;
+        this.adminConstraintIds = adminConstraintIds;
+        this.adminConstraintWorkers = adminConstraintWorkers;
+        this.adminConstraintDays = adminConstraintDays;
+        this.adminConstraintReasons = adminConstraintReasons;
+        this.workerIndexById = new HashMap<>();
+        for (int w = 0; w < employeeIds.length; w++) {
+            workerIndexById.put(employeeIds[w], w);
+        }
+    }
+
+    public static SchedulingProblem of(List<Employee> employees, LocalDate startDate, LocalDate endDate,
+                                       List<AdminConstraint> adminConstraints, List<LocalDate> holidays) {
+        return of(employees, startDate, endDate, adminConstraints, holidays,
+                employee -> employee.getRestDays() != null ? employee.getRestDays() : DutyScheduler.DEFAULT_REST_DAYS);
+    }
+
+    /**
+     * @param restDaysPolicy minimum days off between two shifts of an employee
+     */
+    public static SchedulingProblem of(List<Employee> employees, LocalDate startDate, LocalDate endDate,
+                                       List<AdminConstraint> adminConstraints, List<LocalDate> holidays,
+                                       ToIntFunction<Employee> restDaysPolicy) {
+        List<PreferredOffDate> offDates = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getOffDates() != null) {
+                offDates.addAll(employee.getOffDates());
+            }
+        }
+        return of(employees, startDate, endDate, offDates, adminConstraints, holidays, restDaysPolicy);
+    }
+
+    /**
+     * Variant for callers that loaded the preferred off dates with their own query, so the employees' lazy
+     * {@code offDates} collections are never initialized.
+     *
+     * @param offDates       preferred off dates of the employees; dates outside the horizon and rows of other employees
+     *                       are ignored
+     * @param restDaysPolicy minimum days off between two shifts of an employee
+     */
+    public static SchedulingProblem of(List<Employee> employees, LocalDate startDate, LocalDate endDate,
+                                       List<PreferredOffDate> offDates, List<AdminConstraint> adminConstraints,
+                                       List<LocalDate> holidays, ToIntFunction<Employee> restDaysPolicy) {
+        return of(employees, startDate, endDate, offDates, adminConstraints, holidays, restDaysPolicy,
+                employee -> employee.getPreviousYearShifts() == null ? 0 : employee.getPreviousYearShifts());
+    }
+
+    /**
+     * @param carriedShiftsPolicy shifts an employee carries into the horizon from earlier years, added to their load
+     *                            before the load spread is taken; by default {@link Employee#getPreviousYearShifts()}
+     */
+    public static SchedulingProblem of(List<Employee> employees, LocalDate startDate, LocalDate endDate,
+                                       List<PreferredOffDate> offDates, List<AdminConstraint> adminConstraints,
+                                       List<LocalDate> holidays, ToIntFunction<Employee> restDaysPolicy,
+                                       ToIntFunction<Employee> carriedShiftsPolicy) {
+        int numDays = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        int numWorkers = employees.size();
+        long[] employeeIds = new long[numWorkers];
+        String[] employeeNames = new String[numWorkers];
+        int[] previousYearShifts = new int[numWorkers];
+        int[] restDays = new int[numWorkers];
+        BitSet[] blockedDays = new BitSet[numWorkers];
+        BitSet[] offDays = new BitSet[numWorkers];
+        Map<Long, Integer> workerIndexById = new HashMap<>();
+
+        for (int w = 0; w < numWorkers; w++) {
+            Employee employee = employees.get(w);
+            employeeIds[w] = employee.getId();
+            employeeNames[w] = employee.getName();
+            previousYearShifts[w] = Math.max(0, carriedShiftsPolicy.applyAsInt(employee));
+            restDays[w] = Math.max(0, restDaysPolicy.applyAsInt(employee));
+            blockedDays[w] = new BitSet(numDays);
+            offDays[w] = new BitSet(numDays);
+            workerIndexById.put(employee.getId(), w);
+        }
+
+        for (PreferredOffDate offDate : offDates) {
+            Integer w = workerIndexById.get(offDate.getEmployee().getId());
+            if (w != null) {
+                setIfInRange(offDays[w], startDate, numDays, offDate.getOffDate());
+            }
+        }
+
+        List<AdminConstraint> inRange = new ArrayList<>();
+        for (AdminConstraint constraint : adminConstraints) {
+            Integer w = workerIndexById.get(constraint.getEmployee().getId());
+            if (w != null && setIfInRange(blockedDays[w], startDate, numDays, constraint.getConstraintDate())) {
+                inRange.add(constraint);
+            }
+        }
+        Long[] adminConstraintIds = new Long[inRange.size()];
+        int[] adminConstraintWorkers = new int[inRange.size()];
+        int[] adminConstraintDays = new int[inRange.size()];
+        String[] adminConstraintReasons = new String[inRange.size()];
+        for (int i = 0; i < inRange.size(); i++) {
+            AdminConstraint constraint = inRange.get(i);
+            adminConstraintIds[i] = constraint.getId();
+            adminConstraintWorkers[i] = workerIndexById.get(constraint.getEmployee().getId());
+            adminConstraintDays[i] = (int) ChronoUnit.DAYS.between(startDate, constraint.getConstraintDate());
+            adminConstraintReasons[i] = constraint.getReason();
+        }
+
+        BitSet holidayDays = new BitSet(numDays);
+        for (LocalDate holiday : holidays) {
+            setIfInRange(holidayDays, startDate, numDays, holiday);
+        }
+
+        BitSet weekendDays = new BitSet(numDays);
+        for (int d = 0; d < numDays; d++) {
+            DayOfWeek dayOfWeek = startDate.plusDays(d).getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                weekendDays.set(d);
+            }
+        }
+
+        return new SchedulingProblem(startDate, numDays, List.copyOf(employees), employeeIds, employeeNames,
+                previousYearShifts, restDays, blockedDays, offDays, holidayDays, weekendDays, adminConstraintIds,
+                adminConstraintWorkers, adminConstraintDays, adminConstraintReasons);
+    }
+
+    private static boolean setIfInRange(BitSet days, LocalDate startDate, int numDays, LocalDate date) {
+        long d = ChronoUnit.DAYS.between(startDate, date);
+        if (d >= 0 && d < numDays) {
+            days.set((int) d);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sub-problem for the days between {@code from} and {@code to} (inclusive), sharing the same workers.
+     */
+    public SchedulingProblem window(LocalDate from, LocalDate to) {
+        int fromDay = dayIndex(from);
+        int toDay = dayIndex(to) + 1;
+        BitSet[] windowBlocked = new BitSet[employeeIds.length];
+        BitSet[] windowOff = new BitSet[employeeIds.length];
+        for (int w = 0; w < employeeIds.length; w++) {
+            windowBlocked[w] = blockedDays[w].get(fromDay, toDay);
+            windowOff[w] = offDays[w].get(fromDay, toDay);
+        }
+        int windowConstraintCount = 0;
+        for (int day : adminConstraintDays) {
+            if (day >= fromDay && day < toDay) {
+                windowConstraintCount++;
+            }
+        }
+        Long[] windowIds = new Long[windowConstraintCount];
+        int[] windowWorkers = new int[windowConstraintCount];
+        int[] windowDays = new int[windowConstraintCount];
+        String[] windowReasons = new String[windowConstraintCount];
+        int next = 0;
+        for (int i = 0; i < adminConstraintDays.length; i++) {
+            if (adminConstraintDays[i] >= fromDay && adminConstraintDays[i] < toDay) {
+                windowIds[next] = adminConstraintIds[i];
+                windowWorkers[next] = adminConstraintWorkers[i];
+                windowDays[next] = adminConstraintDays[i] - fromDay;
+                windowReasons[next] = adminConstraintReasons[i];
+                next++;
+            }
+        }
+        return new SchedulingProblem(from, toDay - fromDay, employees, employeeIds, employeeNames,
+                previousYearShifts, restDays, windowBlocked, windowOff, holidays.get(fromDay, toDay),
+                weekends.get(fromDay, toDay), windowIds, windowWorkers, windowDays, windowReasons);
+    }
+
+    /**
+     * SHA-256 over everything that affects the solution: the horizon, each employee's id, previous-year shifts, rest
+     * window, blocked days and off days, and the holidays. Two snapshots with the same fingerprint schedule the same.
+     */
+    public String fingerprint() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        update(digest, buffer, startDate.toEpochDay());
+        update(digest, buffer, numDays);
+        for (int w = 0; w < employeeIds.length; w++) {
+            update(digest, buffer, employeeIds[w]);
+            update(digest, buffer, previousYearShifts[w]);
+            update(digest, buffer, restDays[w]);
+            update(digest, buffer, blockedDays[w]);
+            update(digest, buffer, offDays[w]);
+        }
+        update(digest, buffer, holidays);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, ByteBuffer buffer, BitSet days) {
+        long[] words = days.toLongArray();
+        update(digest, buffer, words.length);
+        for (long word : words) {
+            update(digest, buffer, word);
+        }
+    }
+
+    private static void update(MessageDigest digest, ByteBuffer buffer, long value) {
+        buffer.clear();
+        digest.update(buffer.putLong(value).array());
+    }
+
+    public Shift toShift(int worker, int day) {
+        return new Shift(employees.get(worker), startDate.plusDays(day));
+    }
+
+    public int dayIndex(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(startDate, date);
+    }
+
+    /**
+     * @return the worker index for the employee id, or -1 if that employee is not part of this problem
+     */
+    public int workerIndex(long employeeId) {
+        Integer w = workerIndexById.get(employeeId);
+        return w == null ? -1 : w;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return startDate.plusDays(numDays - 1L);
+    }
+
+    public LocalDate dateOf(int day) {
+        return startDate.plusDays(day);
+    }
+
+    public int getNumDays() {
+        return numDays;
+    }
+
+    public int getNumWorkers() {
+        return employeeIds.length;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public long getEmployeeId(int worker) {
+        return employeeIds[worker];
+    }
+
+    public String getEmployeeName(int worker) {
+        return employeeNames[worker];
+    }
+
+    public int getPreviousYearShifts(int worker) {
+        return previousYearShifts[worker];
+    }
+
+    /**
+     * @return the minimum number of days off between two shifts of the worker
+     */
+    public int getRestDays(int worker) {
+        return restDays[worker];
+    }
+
+    public int getMaxRestDays() {
+        int max = 0;
+        for (int days : restDays) {
+            max = Math.max(max, days);
+        }
+        return max;
+    }
+
+    public boolean isBlocked(int worker, int day) {
+        return blockedDays[worker].get(day);
+    }
+
+    /**
+     * @return a copy of the days the worker is blocked by admin constraints
+     */
+    public BitSet getBlockedDays(int worker) {
+        return (BitSet) blockedDays[worker].clone();
+    }
+
+    public boolean isOffDay(int worker, int day) {
+        return offDays[worker].get(day);
+    }
+
+    public boolean isHoliday(int day) {
+        return holidays.get(day);
+    }
+
+    public boolean isWeekend(int day) {
+        return weekends.get(day);
+    }
+
+    public int getWeekendDayCount() {
+        return weekends.cardinality();
+    }
+
+    public int getHolidayCount() {
+        return holidays.cardinality();
+    }
+
+    public int getAdminConstraintCount() {
+        return adminConstraintIds.length;
+    }
+
+    /**
+     * @param index admin constraint index, 0 to {@link #getAdminConstraintCount()} - 1
+     * @return the id of the {@link AdminConstraint} row, {@code null} if it was never saved
+     */
+    public Long getAdminConstraintId(int index) {
+        return adminConstraintIds[index];
+    }
+
+    public int getAdminConstraintWorker(int index) {
+        return adminConstraintWorkers[index];
+    }
+
+    public int getAdminConstraintDay(int index) {
+        return adminConstraintDays[index];
+    }
+
+    public String getAdminConstraintReason(int index) {
+        return adminConstraintReasons[index];
+    }
+}
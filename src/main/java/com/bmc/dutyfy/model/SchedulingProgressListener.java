@@ -0,0 +1,18 @@
+package com.bmc.dutyfy.model;
+
+/**
+ * Receives progress updates while a schedule is being created. Solution updates are delivered from the
+ * solver's own threads, so implementations must be thread-safe.
+ */
+public interface SchedulingProgressListener {
+
+    SchedulingProgressListener NONE = new SchedulingProgressListener() {
+    };
+
+    default void onPhaseChanged(ScheduleJobPhase phase) {
+    }
+
+    default void onSolutionFound(int solutionCount, double objectiveValue, double bestObjectiveBound,
+                                 double wallTimeSeconds) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Eligibility, shift-count bounds and the greedy rotation shared by every engine. Kept apart from
+ * {@link DutyScheduler} so that engines which don't use CP-SAT never trigger loading the OR-Tools native libraries.
+ */
+final class SchedulingRules {
+
+    private SchedulingRules() {
+    }
+
+    static BitSet[] ineligibleCells(SchedulingProblem problem, Map<LocalDate, Long> fixedAssignments) {
+        BitSet[] ineligible = boundaryCells(problem, fixedAssignments);
+        for (int w = 0; w < problem.getNumWorkers(); w++) {
+            ineligible[w].or(problem.getBlockedDays(w));
+        }
+        return ineligible;
+    }
+
+    /**
+     * Days each worker can't take because they are too close to a fixed shift just outside the horizon.
+     */
+    static BitSet[] boundaryCells(SchedulingProblem problem, Map<LocalDate, Long> fixedAssignments) {
+        int numDays = problem.getNumDays();
+        BitSet[] ineligible = new BitSet[problem.getNumWorkers()];
+        for (int w = 0; w < problem.getNumWorkers(); w++) {
+            ineligible[w] = new BitSet(numDays);
+        }
+        if (fixedAssignments.isEmpty()) {
+            return ineligible;
+        }
+
+        int blockedCells = 0;
+        for (Map.Entry<LocalDate, Long> fixed : fixedAssignments.entrySet()) {
+            int workerIndex = problem.workerIndex(fixed.getValue());
+            if (workerIndex < 0) {
+                continue;
+            }
+            // A fixed shift outside the range shares a rest window with every day up to restDays away
+            int fixedDay = problem.dayIndex(fixed.getKey());
+            if (fixedDay >= 0 && fixedDay < numDays) {
+                continue;
+            }
+            int restDays = problem.getRestDays(workerIndex);
+            int from = Math.max(0, fixedDay - restDays);
+            int to = Math.min(numDays - 1, fixedDay + restDays);
+            if (from <= to) {
+                ineligible[workerIndex].set(from, to + 1);
+                blockedCells += to - from + 1;
+            }
+        }
+
+        System.out.println("Applied boundary constraints from " + fixedAssignments.size() + " fixed shifts (" +
+                blockedCells + " blocked assignments)");
+        return ineligible;
+    }
+
+    /**
+     * Lower bound of the worker's shift count: an even share of the horizon, or the explicit target, less the
+     * fairness tolerance. The spread objective balances the counts; these bounds only keep every count within the
+     * tolerance of its share, and they also narrow the counter domains that the spread bounds are derived from.
+     */
+    static int minShifts(SchedulingProblem problem, SchedulingOptions options, int worker) {
+        // Explicit targets carry running counts from neighbouring parts of a decomposed horizon
+        Integer target = options.getTargetShiftCounts().get(problem.getEmployeeId(worker));
+        int minAssignments = target != null ? target : problem.getNumDays() / problem.getNumWorkers();
+        // Add some flexibility to avoid infeasibility
+        return Math.max(0, minAssignments - options.getFairnessTolerance());
+    }
+
+    /**
+     * Upper bound of the worker's shift count. Any worker may take one of the {@code days % workers} remaining days,
+     * so the bound doesn't depend on the worker's position and identical workers stay interchangeable.
+     */
+    static int maxShifts(SchedulingProblem problem, SchedulingOptions options, int worker) {
+        Integer target = options.getTargetShiftCounts().get(problem.getEmployeeId(worker));
+        int numWorkers = problem.getNumWorkers();
+        int maxAssignments = target != null ? target
+                : problem.getNumDays() / numWorkers + (problem.getNumDays() % numWorkers > 0 ? 1 : 0);
+        return maxAssignments + options.getFairnessTolerance();
+    }
+
+    /**
+     * @return the worker per day, or -1 where every eligible worker is still resting
+     */
+    static int[] greedyRotation(SchedulingProblem problem, BitSet[] ineligible, boolean carryPreviousYear) {
+        int numWorkers = problem.getNumWorkers();
+        int[] loads = new int[numWorkers];
+        int[] lastShift = new int[numWorkers];
+        for (int w = 0; w < numWorkers; w++) {
+            loads[w] = carryPreviousYear ? problem.getPreviousYearShifts(w) : 0;
+            lastShift[w] = Integer.MIN_VALUE / 2;
+        }
+
+        int[] rotation = new int[problem.getNumDays()];
+        for (int d = 0; d < problem.getNumDays(); d++) {
+            int chosen = -1;
+            for (int w = 0; w < numWorkers; w++) {
+                if (ineligible[w].get(d) || d - lastShift[w] <= problem.getRestDays(w)) {
+                    continue;
+                }
+                if (chosen < 0 || Boolean.compare(problem.isOffDay(w, d), problem.isOffDay(chosen, d)) < 0 ||
+                        (problem.isOffDay(w, d) == problem.isOffDay(chosen, d) && loads[w] < loads[chosen])) {
+                    chosen = w;
+                }
+            }
+            rotation[d] = chosen;
+            if (chosen >= 0) {
+                loads[chosen]++;
+                lastShift[chosen] = d;
+            }
+        }
+        return rotation;
+    }
+}
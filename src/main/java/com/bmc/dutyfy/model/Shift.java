@@ -5,10 +5,14 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "shifts")
+// One duty per day; the unique key also serves the lookups by date
+@Table(name = "shifts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_shifts_shift_date", columnNames = "shift_date"),
+        indexes = @Index(name = "idx_shifts_employee_shift_date", columnList = "employee_id, shift_date"))
 public class Shift {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shifts_seq")
+    @SequenceGenerator(name = "shifts_seq", sequenceName = "shifts_seq", allocationSize = 50)
     private Long id;
 
 
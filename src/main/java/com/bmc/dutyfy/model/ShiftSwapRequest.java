@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class ShiftSwapRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shift_swap_requests_seq")
+    @SequenceGenerator(name = "shift_swap_requests_seq", sequenceName = "shift_swap_requests_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,137 @@
+package com.bmc.dutyfy.model;
+
+import com.google.ortools.sat.SatParameters;
+
+/**
+ * Named set of CP-SAT parameters, bound from {@code dutyfy.solver.profiles.<name>.*}.
+ */
+public class SolverProfile {
+    private String name = "default";
+    private int numWorkers = 0;
+    private double maxTimeInSeconds = 30.0;
+    private double relativeGapLimit = 0.0;
+    private int linearizationLevel = 1;
+    private int randomSeed = 0;
+    private Decomposition decomposition = Decomposition.NONE;
+    private RestWindowEncoding restWindowEncoding = RestWindowEncoding.AUTO;
+
+    public SolverProfile() {
+    }
+
+    public SolverProfile(String name, int numWorkers, double maxTimeInSeconds, double relativeGapLimit,
+                         int linearizationLevel, int randomSeed) {
+        this.name = name;
+        this.numWorkers = numWorkers;
+        this.maxTimeInSeconds = maxTimeInSeconds;
+        this.relativeGapLimit = relativeGapLimit;
+        this.linearizationLevel = linearizationLevel;
+        this.randomSeed = randomSeed;
+    }
+
+    /**
+     * Copy of this profile, for callers that adjust it for one solve.
+     */
+    public SolverProfile copy() {
+        SolverProfile copy = forSubproblem(numWorkers, maxTimeInSeconds);
+        copy.setDecomposition(decomposition);
+        return copy;
+    }
+
+    /**
+     * Copy of this profile for one part of a split solve.
+     */
+    public SolverProfile forSubproblem(int numWorkers, double maxTimeInSeconds) {
+        SolverProfile copy = new SolverProfile(name, numWorkers, maxTimeInSeconds, relativeGapLimit,
+                linearizationLevel, randomSeed);
+        copy.setDecomposition(Decomposition.NONE);
+        copy.setRestWindowEncoding(restWindowEncoding);
+        return copy;
+    }
+
+    public void applyTo(SatParameters.Builder parameters) {
+        // 0 workers lets CP-SAT pick based on the available cores
+        parameters.setNumWorkers(numWorkers);
+        parameters.setMaxTimeInSeconds(maxTimeInSeconds);
+        parameters.setRelativeGapLimit(relativeGapLimit);
+        parameters.setLinearizationLevel(linearizationLevel);
+        parameters.setRandomSeed(randomSeed);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getNumWorkers() {
+        return numWorkers;
+    }
+
+    public void setNumWorkers(int numWorkers) {
+        this.numWorkers = numWorkers;
+    }
+
+    public double getMaxTimeInSeconds() {
+        return maxTimeInSeconds;
+    }
+
+    public void setMaxTimeInSeconds(double maxTimeInSeconds) {
+        this.maxTimeInSeconds = maxTimeInSeconds;
+    }
+
+    public double getRelativeGapLimit() {
+        return relativeGapLimit;
+    }
+
+    public void setRelativeGapLimit(double relativeGapLimit) {
+        this.relativeGapLimit = relativeGapLimit;
+    }
+
+    public int getLinearizationLevel() {
+        return linearizationLevel;
+    }
+
+    public void setLinearizationLevel(int linearizationLevel) {
+        this.linearizationLevel = linearizationLevel;
+    }
+
+    public int getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(int randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public Decomposition getDecomposition() {
+        return decomposition;
+    }
+
+    public void setDecomposition(Decomposition decomposition) {
+        this.decomposition = decomposition;
+    }
+
+    public RestWindowEncoding getRestWindowEncoding() {
+        return restWindowEncoding;
+    }
+
+    public void setRestWindowEncoding(RestWindowEncoding restWindowEncoding) {
+        this.restWindowEncoding = restWindowEncoding;
+    }
+
+    @Override
+    public String toString() {
+        return "SolverProfile{" +
+                "name='" + name + '\'' +
+                ", numWorkers=" + numWorkers +
+                ", maxTimeInSeconds=" + maxTimeInSeconds +
+                ", relativeGapLimit=" + relativeGapLimit +
+                ", linearizationLevel=" + linearizationLevel +
+                ", randomSeed=" + randomSeed +
+                ", decomposition=" + decomposition +
+                ", restWindowEncoding=" + restWindowEncoding +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.bmc.dutyfy.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the independent sub-solves of a solve (decomposed chunks, alternative schedules) side by side on one pool
+ * shared by all solves. The pool and its queue are bounded; when both are full, the solve that submits runs the
+ * sub-solve on its own thread, so the number of CP-SAT solves at a time never exceeds the pool's threads plus the
+ * threads that submit to it.
+ */
+public class SubproblemExecutor {
+
+    // Runs every sub-solve on the calling thread, one after the other
+    public static final SubproblemExecutor CALLER_THREAD = new SubproblemExecutor();
+
+    private final ThreadPoolExecutor pool;
+
+    private SubproblemExecutor() {
+        this.pool = null;
+    }
+
+    public SubproblemExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "subproblem-solver-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @return how many sub-solves of one call are worth starting at once
+     */
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getMaximumPoolSize();
+    }
+
+    public <T> List<Future<T>> invokeAll(List<Callable<T>> tasks) throws InterruptedException {
+        if (pool != null) {
+            return pool.invokeAll(tasks);
+        }
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            FutureTask<T> future = new FutureTask<>(task);
+            future.run();
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
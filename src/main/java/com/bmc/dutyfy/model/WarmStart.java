@@ -0,0 +1,13 @@
+package com.bmc.dutyfy.model;
+
+/**
+ * Source of CP-SAT solution hints for a yearly solve.
+ */
+public enum WarmStart {
+    /** Solve from scratch. */
+    NONE,
+    /** Hint with the shifts already persisted for the target year. */
+    EXISTING,
+    /** Hint with the previous year's shifts, moved forward 52 weeks so weekdays line up. */
+    PREVIOUS_YEAR
+}
@@ -2,6 +2,7 @@ package com.bmc.dutyfy.repository;
 
 import com.bmc.dutyfy.model.AdminConstraint;
 import com.bmc.dutyfy.model.Employee;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,8 +15,17 @@ public interface AdminConstraintRepository extends JpaRepository<AdminConstraint
     List<AdminConstraint> findByEmployeeAndConstraintDateBetween(Employee employee, LocalDate startDate,
                                                                  LocalDate endDate);
 
-    @Query("SELECT ac FROM AdminConstraint ac WHERE YEAR(ac.constraintDate) = :year")
-    List<AdminConstraint> findByYear(@Param("year") int year);
+    default List<AdminConstraint> findByYear(int year) {
+        return findByConstraintDateRange(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+    }
+
+    // Half-open range on the column itself, so the constraint_date index can be used
+    @Query("SELECT ac FROM AdminConstraint ac WHERE ac.constraintDate >= :startDate AND ac.constraintDate < :endDate")
+    List<AdminConstraint> findByConstraintDateRange(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
 
     List<AdminConstraint> findByConstraintDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @EntityGraph(attributePaths = "employee")
+    List<AdminConstraint> findByEmployeeActiveTrueAndConstraintDateBetween(LocalDate startDate, LocalDate endDate);
 }
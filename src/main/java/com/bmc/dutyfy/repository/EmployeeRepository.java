@@ -2,17 +2,23 @@ package com.bmc.dutyfy.repository;
 
 import com.bmc.dutyfy.model.Employee;
 import com.bmc.dutyfy.model.UserRole;
-import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    List<Employee> findAll(Specification<Employee> spec);
-
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
+    // Runs on nearly every request; the ids come from the query cache and the employee from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Employee> findByEmail(String email);
 
     List<Employee> findByActiveTrue();
@@ -21,4 +27,17 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     @Query("SELECT e FROM Employee e WHERE e.active = true AND e.role = :role")
     List<Employee> findActiveEmployeesByRole(@Param("role") UserRole role);
+
+    /**
+     * Sets previous_year_shifts of every employee to their number of shifts between the dates in one statement,
+     * touching only the rows whose count changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.previousYearShifts = " +
+            "(SELECT COUNT(s) FROM Shift s WHERE s.employee = e AND s.shiftDate BETWEEN :startDate AND :endDate), " +
+            "e.lastModifiedDate = :now " +
+            "WHERE e.previousYearShifts IS NULL OR e.previousYearShifts <> " +
+            "(SELECT COUNT(s) FROM Shift s WHERE s.employee = e AND s.shiftDate BETWEEN :startDate AND :endDate)")
+    int updatePreviousYearShifts(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                 @Param("now") LocalDateTime now);
 }
\ No newline at end of file
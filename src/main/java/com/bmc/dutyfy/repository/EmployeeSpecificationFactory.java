@@ -3,30 +3,41 @@ package com.bmc.dutyfy.repository;
 import com.bmc.dutyfy.model.Employee;
 import com.bmc.dutyfy.model.PreferredOffDate;
 import com.bmc.dutyfy.model.Shift;
-import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
+
+/**
+ * The year filters are EXISTS subqueries rather than joins, so every employee is returned once however many rows
+ * match, and the subqueries are half-open date ranges that can use the (employee_id, date) indexes.
+ */
 public class EmployeeSpecificationFactory {
     public static Specification<Employee> hasShiftsInYear(int year) {
         return (root, query, criteriaBuilder) -> {
-            // Join with shifts
-            Join<Employee, Shift> shifts = root.join("shifts");
-            // Create a predicate for filtering shifts by the year
-            Predicate shiftPredicate = criteriaBuilder.equal(criteriaBuilder.function("YEAR", Integer.class,
-                    shifts.get("shiftDate")), year);
-            return shiftPredicate;
+            // Employees with at least one shift in the year
+            Subquery<Long> shifts = query.subquery(Long.class);
+            Root<Shift> shift = shifts.from(Shift.class);
+            shifts.select(shift.get("id")).where(
+                    criteriaBuilder.equal(shift.get("employee"), root),
+                    inYear(criteriaBuilder, shift.get("shiftDate"), year));
+            return criteriaBuilder.exists(shifts);
         };
     }
 
     public static Specification<Employee> hasOffDatesInYear(int year) {
         return (root, query, criteriaBuilder) -> {
-            // Join with offDates
-            Join<Employee, PreferredOffDate> offDates = root.join("offDates");
-            // Create a predicate for filtering off dates by the year
-            Predicate offDatePredicate = criteriaBuilder.equal(criteriaBuilder.function("YEAR", Integer.class,
-                    offDates.get("offDate")), year);
-            return offDatePredicate;
+            // Employees with at least one preferred off date in the year
+            Subquery<Long> offDates = query.subquery(Long.class);
+            Root<PreferredOffDate> offDate = offDates.from(PreferredOffDate.class);
+            offDates.select(offDate.get("id")).where(
+                    criteriaBuilder.equal(offDate.get("employee"), root),
+                    inYear(criteriaBuilder, offDate.get("offDate"), year));
+            return criteriaBuilder.exists(offDates);
         };
     }
 
@@ -34,4 +45,11 @@ public class EmployeeSpecificationFactory {
     public static Specification<Employee> hasShiftsAndOffDatesInYear(int year) {
         return hasShiftsInYear(year).and(hasOffDatesInYear(year));
     }
+
+    // From January 1st of the year until, excluding, January 1st of the next one
+    private static Predicate inYear(CriteriaBuilder criteriaBuilder, Path<LocalDate> date, int year) {
+        return criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(date, LocalDate.of(year, 1, 1)),
+                criteriaBuilder.lessThan(date, LocalDate.of(year + 1, 1, 1)));
+    }
 }
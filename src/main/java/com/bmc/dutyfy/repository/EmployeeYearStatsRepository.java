@@ -0,0 +1,37 @@
+package com.bmc.dutyfy.repository;
+
+import com.bmc.dutyfy.model.EmployeeYearStats;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmployeeYearStatsRepository extends JpaRepository<EmployeeYearStats, Long> {
+
+    @EntityGraph(attributePaths = "employee")
+    List<EmployeeYearStats> findByYearOrderByEmployeeName(int year);
+
+    @EntityGraph(attributePaths = "employee")
+    List<EmployeeYearStats> findByYearBetween(int firstYear, int lastYear);
+
+    /**
+     * Adds to the counts of one row in a single statement, so concurrent additions to the same row all count.
+     *
+     * @return the number of updated rows, 0 if the employee has no row for the year yet
+     */
+    @Modifying
+    @Query("UPDATE EmployeeYearStats s SET s.totalShifts = s.totalShifts + :totalShifts, " +
+            "s.weekendShifts = s.weekendShifts + :weekendShifts, " +
+            "s.holidayShifts = s.holidayShifts + :holidayShifts, " +
+            "s.swappedShifts = s.swappedShifts + :swappedShifts, " +
+            "s.lastModifiedDate = :now " +
+            "WHERE s.employee.id = :employeeId AND s.year = :year")
+    int addCounts(@Param("employeeId") long employeeId, @Param("year") int year,
+                  @Param("totalShifts") int totalShifts, @Param("weekendShifts") int weekendShifts,
+                  @Param("holidayShifts") int holidayShifts, @Param("swappedShifts") int swappedShifts,
+                  @Param("now") LocalDateTime now);
+}
@@ -1,7 +1,14 @@
 package com.bmc.dutyfy.repository;
 
 import com.bmc.dutyfy.model.PreferredOffDate;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface PreferredOffDateRepository extends JpaRepository<PreferredOffDate, Long> {
+
+    @EntityGraph(attributePaths = "employee")
+    List<PreferredOffDate> findByEmployeeActiveTrueAndOffDateBetween(LocalDate startDate, LocalDate endDate);
 }
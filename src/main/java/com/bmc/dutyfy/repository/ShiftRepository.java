@@ -1,7 +1,35 @@
 package com.bmc.dutyfy.repository;
 
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.ScheduledShift;
 import com.bmc.dutyfy.model.Shift;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface ShiftRepository extends JpaRepository<Shift, Long> {
+
+    // Fetches the employees in the same query: shifts of former employees would each need their own select otherwise
+    @EntityGraph(attributePaths = "employee")
+    List<Shift> findByShiftDateBetweenOrderByShiftDate(LocalDate startDate, LocalDate endDate);
+
+    default List<ScheduledShift> findScheduledShiftsByYear(int year) {
+        return findScheduledShifts(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+    }
+
+    // Only the columns the schedule pages show: no Shift or Employee entities are built or put in the persistence
+    // context, and the employee's password hash and audit fields are never read
+    @Query("SELECT new com.bmc.dutyfy.model.ScheduledShift(s.id, s.shiftDate, e.id, e.name) " +
+            "FROM Shift s JOIN s.employee e " +
+            "WHERE s.shiftDate >= :startDate AND s.shiftDate < :endDate " +
+            "ORDER BY s.shiftDate, s.id")
+    List<ScheduledShift> findScheduledShifts(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    List<Shift> findByEmployeeAndShiftDateBetweenOrderByShiftDate(Employee employee, LocalDate startDate,
+                                                                  LocalDate endDate);
 }
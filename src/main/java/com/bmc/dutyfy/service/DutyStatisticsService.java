@@ -0,0 +1,194 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.EmployeeYearStats;
+import com.bmc.dutyfy.model.Shift;
+import com.bmc.dutyfy.repository.EmployeeYearStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maintains the {@link EmployeeYearStats} rows incrementally from the shifts that change hands, so reading the duty
+ * counts of a year takes one row per employee whatever the size of the shift history.
+ */
+@Service
+@Transactional
+public class DutyStatisticsService {
+
+    @Autowired
+    private EmployeeYearStatsRepository statsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Earlier years weighed into the load an employee carries into a new schedule, and the weight of each year
+    // relative to the one after it
+    @Value("${dutyfy.schedule.fairness.history-years:3}")
+    private int historyYears;
+    @Value("${dutyfy.schedule.fairness.history-decay:0.5}")
+    private double historyDecay;
+
+    /**
+     * Moves the counts of changed shifts between employees: every {@code released} shift is subtracted from the
+     * employee it was assigned to before the change and every {@code assigned} shift is added to its new employee.
+     * Only the touched rows are written, one atomic update each.
+     */
+    public void recordShiftChanges(List<Shift> released, List<Shift> assigned, Collection<LocalDate> holidays) {
+        Map<Integer, Map<Long, CountChange>> changes = new TreeMap<>();
+        for (Shift shift : released) {
+            countShift(changes, shift, holidays, -1);
+        }
+        for (Shift shift : assigned) {
+            countShift(changes, shift, holidays, 1);
+        }
+        applyChanges(changes);
+    }
+
+    /**
+     * Counts an approved swap for both employees. The shift itself changes hands like any other, through
+     * {@link #recordShiftChanges}.
+     */
+    public void recordSwap(Employee requester, Employee targetEmployee, LocalDate shiftDate) {
+        Map<Integer, Map<Long, CountChange>> changes = new TreeMap<>();
+        for (Employee employee : List.of(requester, targetEmployee)) {
+            changeFor(changes, employee, shiftDate.getYear()).swappedShifts++;
+        }
+        applyChanges(changes);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeYearStats> getStatsForYear(int year) {
+        return statsRepository.findByYearOrderByEmployeeName(year);
+    }
+
+    /**
+     * The load each of {@code employees} carries into {@code year}: the average of their shift totals in the history
+     * years before it, each year back weighted down by the history decay. Every shift write keeps the statistics, so
+     * an employee without a row in a year that has rows had no shifts in it and counts 0 for that year. A year without
+     * any rows predates the statistics (a database from before them, or the history entered with the employees), so
+     * every employee counts their {@link Employee#getPreviousYearShifts()} for it instead.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getCarriedShifts(int year, List<Employee> employees) {
+        Map<Long, Double> weightedSums = new HashMap<>();
+        Set<Integer> recordedYears = new HashSet<>();
+        for (EmployeeYearStats stats : statsRepository.findByYearBetween(year - historyYears, year - 1)) {
+            weightedSums.merge(stats.getEmployee().getId(), weight(year, stats.getYear()) * stats.getTotalShifts(),
+                    Double::sum);
+            recordedYears.add(stats.getYear());
+        }
+        double weights = 0;
+        double unrecordedWeights = 0;
+        for (int historyYear = year - historyYears; historyYear < year; historyYear++) {
+            weights += weight(year, historyYear);
+            if (!recordedYears.contains(historyYear)) {
+                unrecordedWeights += weight(year, historyYear);
+            }
+        }
+        Map<Long, Integer> carriedShifts = new HashMap<>();
+        for (Employee employee : employees) {
+            int previousYearShifts = employee.getPreviousYearShifts() == null ? 0 : employee.getPreviousYearShifts();
+            double weightedSum = weightedSums.getOrDefault(employee.getId(), 0.0) +
+                    unrecordedWeights * previousYearShifts;
+            carriedShifts.put(employee.getId(), weights == 0 ? 0 : (int) Math.round(weightedSum / weights));
+        }
+        return carriedShifts;
+    }
+
+    private double weight(int year, int historyYear) {
+        return Math.pow(historyDecay, year - 1 - historyYear);
+    }
+
+    /**
+     * Adds the changes to the counts in place, so concurrent writers (a schedule commit and a swap approval, say)
+     * never overwrite each other's counts. A missing row is created first in its own transaction; if another writer
+     * creates it at the same time, the unique key rejects the second insert and both updates land on the one row.
+     */
+    private void applyChanges(Map<Integer, Map<Long, CountChange>> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        changes.forEach((year, changesByEmployee) -> changesByEmployee.forEach((employeeId, change) -> {
+            if (change.isEmpty()) {
+                return;
+            }
+            if (addCounts(employeeId, year, change, now) == 0) {
+                createStats(change.employee, year, now);
+                if (addCounts(employeeId, year, change, now) == 0) {
+                    throw new IllegalStateException("No duty statistics of employee " + employeeId + " in " + year);
+                }
+            }
+        }));
+    }
+
+    private int addCounts(long employeeId, int year, CountChange change, LocalDateTime now) {
+        return statsRepository.addCounts(employeeId, year, change.totalShifts, change.weekendShifts,
+                change.holidayShifts, change.swappedShifts, now);
+    }
+
+    private void createStats(Employee employee, int year, LocalDateTime now) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                EmployeeYearStats stats = new EmployeeYearStats(employee, year);
+                stats.setLastModifiedDate(now);
+                statsRepository.saveAndFlush(stats);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another writer created the row first and it is committed, so the update finds it now
+        }
+    }
+
+    private static CountChange changeFor(Map<Integer, Map<Long, CountChange>> changes, Employee employee, int year) {
+        return changes.computeIfAbsent(year, y -> new TreeMap<>())
+                .computeIfAbsent(employee.getId(), id -> new CountChange(employee));
+    }
+
+    private static void countShift(Map<Integer, Map<Long, CountChange>> changes, Shift shift,
+                                   Collection<LocalDate> holidays, int sign) {
+        LocalDate date = shift.getShiftDate();
+        CountChange change = changeFor(changes, shift.getEmployee(), date.getYear());
+        change.totalShifts += sign;
+        if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            change.weekendShifts += sign;
+        }
+        if (holidays.contains(date)) {
+            change.holidayShifts += sign;
+        }
+    }
+
+    /**
+     * What to add to the counts of one employee in one year.
+     */
+    private static final class CountChange {
+        private final Employee employee;
+        private int totalShifts;
+        private int weekendShifts;
+        private int holidayShifts;
+        private int swappedShifts;
+
+        CountChange(Employee employee) {
+            this.employee = employee;
+        }
+
+        boolean isEmpty() {
+            return totalShifts == 0 && weekendShifts == 0 && holidayShifts == 0 && swappedShifts == 0;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.ScheduleIndex;
+import com.bmc.dutyfy.model.ScheduledShift;
+import com.bmc.dutyfy.repository.ShiftRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one {@link ScheduleIndex} per year for the pages that show who is on duty. A year is loaded on its first
+ * read, dropped by every commit that changes its shifts and rebuilt right after, so readers only ever dereference an
+ * immutable index and never see one half done. Only years that have shifts are kept, so reading arbitrary years
+ * can't grow the cache.
+ * <p>
+ * Snapshots are built from one projection query per year, in their own read-only transaction, so they only contain
+ * committed shifts. Writes that bypass {@link ShiftSchedulingService} and {@link ShiftSwapService} have to call
+ * {@link #refreshAfterCommit} themselves.
+ */
+@Service
+public class ScheduleIndexService {
+
+    private final Map<Integer, ScheduleIndex> indexes = new ConcurrentHashMap<>();
+    // Counts the refreshes so far; a load that overlapped one may have read the old shifts and isn't kept. Guarded
+    // by indexes, which is never held during a query
+    private long refreshes;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public ScheduleIndex getIndex(int year) {
+        ScheduleIndex index = indexes.get(year);
+        if (index != null) {
+            return index;
+        }
+        long refreshesBefore;
+        synchronized (indexes) {
+            refreshesBefore = refreshes;
+        }
+        ScheduleIndex loaded = load(year);
+        if (loaded.getShifts().isEmpty()) {
+            return loaded;
+        }
+        synchronized (indexes) {
+            if (refreshes != refreshesBefore) {
+                return loaded;
+            }
+            ScheduleIndex concurrent = indexes.putIfAbsent(year, loaded);
+            return concurrent != null ? concurrent : loaded;
+        }
+    }
+
+    /**
+     * Rebuilds the indexes of {@code years} once the current transaction commits, or right away outside of one.
+     * Years that aren't cached are left to load on their first read.
+     */
+    public void refreshAfterCommit(Collection<Integer> years) {
+        Set<Integer> touchedYears = new TreeSet<>(years);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            touchedYears.forEach(this::refresh);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                touchedYears.forEach(ScheduleIndexService.this::refresh);
+            }
+        });
+    }
+
+    private void refresh(int year) {
+        boolean cached;
+        synchronized (indexes) {
+            refreshes++;
+            cached = indexes.remove(year) != null;
+        }
+        if (!cached) {
+            return;
+        }
+        try {
+            getIndex(year);
+        } catch (RuntimeException e) {
+            // The stale index is gone already, so the next read tries again
+            System.err.println("❌ Failed to rebuild the schedule index of " + year + ": " + e.getMessage());
+        }
+    }
+
+    private ScheduleIndex load(int year) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readOnlyTransaction.setReadOnly(true);
+        List<ScheduledShift> shifts =
+                readOnlyTransaction.execute(status -> shiftRepository.findScheduledShiftsByYear(year));
+        return ScheduleIndex.of(year, shifts);
+    }
+}
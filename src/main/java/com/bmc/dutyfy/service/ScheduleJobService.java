@@ -0,0 +1,213 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.config.SolverProperties;
+import com.bmc.dutyfy.model.ScheduleJob;
+import com.bmc.dutyfy.model.SchedulePreview;
+import com.bmc.dutyfy.model.SchedulingEngineType;
+import com.bmc.dutyfy.model.WarmStart;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs schedule creation, previews and preview commits off the request thread. The solver pool and its queue are bounded so that a
+ * burst of submissions is rejected instead of piling up native solver memory.
+ */
+@Service
+public class ScheduleJobService {
+
+    @Autowired
+    private ShiftSchedulingService schedulingService;
+
+    @Autowired
+    private SchedulePreviewService schedulePreviewService;
+
+    @Autowired
+    private SolverProperties solverProperties;
+
+    @Value("${dutyfy.solver.pool-size:2}")
+    private int poolSize;
+    @Value("${dutyfy.solver.queue-capacity:4}")
+    private int queueCapacity;
+    @Value("${dutyfy.solver.retained-jobs:50}")
+    private int retainedJobs;
+
+    private final Map<Long, ScheduleJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+    private ThreadPoolExecutor solverPool;
+
+    @PostConstruct
+    void startSolverPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        solverPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "schedule-solver-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stopSolverPool() {
+        solverPool.shutdownNow();
+    }
+
+    /**
+     * Queues schedule creation for the given year using the named solver profile ({@code null} for the default),
+     * optionally warm-started from existing shifts.
+     *
+     * @throws RejectedExecutionException if the solver pool and its queue are full
+     */
+    public ScheduleJob submitYearlySchedule(int year, String solverProfile, WarmStart warmStart,
+                                            SchedulingEngineType engine) {
+        return submit(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), solverProfile, warmStart, false,
+                job -> job.complete(schedulingService.createYearlySchedule(job.getYear(), job.getSolverProfile(),
+                        job.getWarmStart(), engine, job)));
+    }
+
+    /**
+     * Queues re-scheduling of a date window, keeping every shift outside it.
+     *
+     * @throws RejectedExecutionException if the solver pool and its queue are full
+     */
+    public ScheduleJob submitReschedule(LocalDate startDate, LocalDate endDate, String solverProfile,
+                                       SchedulingEngineType engine) {
+        return submit(startDate, endDate, solverProfile, WarmStart.EXISTING, false,
+                job -> job.complete(schedulingService.rescheduleWindow(job.getStartDate(), job.getEndDate(),
+                        job.getSolverProfile(), engine, job)));
+    }
+
+    /**
+     * Queues a preview of the given year; once the job completes, its preview key fetches or commits the result.
+     *
+     * @throws RejectedExecutionException if the solver pool and its queue are full
+     */
+    public ScheduleJob submitPreview(int year, String solverProfile, WarmStart warmStart,
+                                     SchedulingEngineType engine) {
+        return submit(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), solverProfile, warmStart, true,
+                job -> job.completePreviews(List.of(schedulePreviewService.preview(job.getYear(),
+                        job.getSolverProfile(), job.getWarmStart(), engine, job))));
+    }
+
+    /**
+     * Queues a preview of {@code count} diverse schedules for the given year; see
+     * {@link SchedulePreviewService#previewAlternatives}.
+     *
+     * @throws IllegalArgumentException   if that many alternatives can't be previewed
+     * @throws RejectedExecutionException if the solver pool and its queue are full
+     */
+    public ScheduleJob submitAlternatives(int year, String solverProfile, WarmStart warmStart, int count) {
+        schedulePreviewService.checkAlternativeCount(count);
+        return submit(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), solverProfile, warmStart, true,
+                job -> job.completePreviews(schedulePreviewService.previewAlternatives(job.getYear(),
+                        job.getSolverProfile(), job.getWarmStart(), count, job)));
+    }
+
+    /**
+     * Queues saving a cached preview as its year's schedule. The commit is a schedule job of its own, so it never
+     * writes the year while another job does; once it has completed, its preview key names the committed preview.
+     *
+     * @throws IllegalArgumentException   if the preview can't be committed, or a job that writes its year is still
+     *                                    queued or running
+     * @throws RejectedExecutionException if the solver pool and its queue are full
+     */
+    public synchronized ScheduleJob submitCommit(String previewKey) {
+        SchedulePreview preview = schedulePreviewService.getCommittablePreview(previewKey);
+        LocalDate startDate = LocalDate.of(preview.getYear(), 1, 1);
+        LocalDate endDate = LocalDate.of(preview.getYear(), 12, 31);
+        // Returning the active job like submit does would drop the commit without telling anyone
+        Optional<ScheduleJob> activeJob = findActiveJob(startDate, endDate);
+        if (activeJob.isPresent()) {
+            throw new IllegalArgumentException("Schedule job #" + activeJob.get().getId() + " for " +
+                    preview.getYear() + " is still running; commit the preview once it has finished");
+        }
+        return queue(startDate, endDate, preview.getSolverProfile(), preview.getWarmStart(), false,
+                job -> job.completePreviews(List.of(schedulePreviewService.commit(previewKey, job))));
+    }
+
+    /**
+     * If a job that writes an overlapping range is still queued or running, that job is returned instead of solving
+     * the same days twice. Previews write nothing, so they are always queued on their own.
+     */
+    private synchronized ScheduleJob submit(LocalDate startDate, LocalDate endDate, String solverProfile,
+                                            WarmStart warmStart, boolean preview, Consumer<ScheduleJob> task) {
+        if (!preview) {
+            Optional<ScheduleJob> activeJob = findActiveJob(startDate, endDate);
+            if (activeJob.isPresent()) {
+                return activeJob.get();
+            }
+        }
+        return queue(startDate, endDate, solverProfile, warmStart, preview, task);
+    }
+
+    private Optional<ScheduleJob> findActiveJob(LocalDate startDate, LocalDate endDate) {
+        return jobs.values().stream()
+                .filter(job -> !job.isPreview())
+                .filter(job -> job.overlaps(startDate, endDate) && !job.isFinished())
+                .findFirst();
+    }
+
+    private ScheduleJob queue(LocalDate startDate, LocalDate endDate, String solverProfile, WarmStart warmStart,
+                              boolean preview, Consumer<ScheduleJob> task) {
+        String profileName = solverProperties.getProfile(solverProfile).getName();
+        ScheduleJob job = new ScheduleJob(jobIds.incrementAndGet(), startDate, endDate, profileName, warmStart,
+                preview);
+        solverPool.execute(() -> runJob(job, task));
+        jobs.put(job.getId(), job);
+        pruneFinishedJobs();
+
+        System.out.println("📥 Queued " + (preview ? "preview" : "schedule") + " job " + job.getId() + " for " +
+                startDate + " - " + endDate + " [" + profileName + "] (queue size: " + solverPool.getQueue().size() +
+                ")");
+        return job;
+    }
+
+    public Optional<ScheduleJob> getJob(long jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public List<ScheduleJob> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparingLong(ScheduleJob::getId).reversed())
+                .toList();
+    }
+
+    private void runJob(ScheduleJob job, Consumer<ScheduleJob> task) {
+        try {
+            task.accept(job);
+            System.out.println("✅ Schedule job " + job.getId() + " finished: " + job.getPhase());
+        } catch (Exception e) {
+            System.err.println("💥 Schedule job " + job.getId() + " failed: " + e.getMessage());
+            e.printStackTrace();
+            job.fail(e.getMessage());
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        List<ScheduleJob> finished = jobs.values().stream()
+                .filter(ScheduleJob::isFinished)
+                .sorted(Comparator.comparingLong(ScheduleJob::getId))
+                .toList();
+        for (int i = 0; i < finished.size() - retainedJobs; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+}
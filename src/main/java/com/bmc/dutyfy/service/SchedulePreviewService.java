@@ -0,0 +1,270 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * "What-if" schedules: solves a year from the current inputs without touching its shifts. Results are kept in an
+ * LRU cache keyed by a fingerprint of everything the solve depends on, so previewing unchanged inputs again returns
+ * immediately. Only {@link #commit} writes the shifts, and only if the inputs still match the preview.
+ * <p>
+ * Solves and commits run as jobs on the bounded solver pool of {@link ScheduleJobService}, never on the request
+ * thread; a commit is a schedule job, so it never runs alongside another job that writes the same year.
+ * <p>
+ * {@link #previewAlternatives} caches each of several diverse schedules as its own preview, so any one of them can be
+ * committed.
+ */
+@Service
+public class SchedulePreviewService {
+
+    @Autowired
+    private ShiftSchedulingService schedulingService;
+
+    @Value("${dutyfy.schedule.preview.cache-size:20}")
+    private int cacheSize;
+
+    @Value("${dutyfy.schedule.alternatives.max-count:4}")
+    private int maxAlternatives;
+
+    @Value("${dutyfy.schedule.alternatives.min-changed-days:30}")
+    private int minChangedDays;
+
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final Map<String, CachedPreview> previews = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPreview> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    // Preview keys per batch of alternatives, evicted together with the oldest previews
+    private final Map<String, List<String>> alternativeBatches = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    public SchedulePreview preview(int year, String solverProfile, WarmStart warmStart, SchedulingEngineType engine,
+                                   SchedulingProgressListener progressListener) {
+        SchedulingOptions options = schedulingService.createYearlyOptions(solverProfile);
+        options.setProgressListener(progressListener);
+
+        progressListener.onPhaseChanged(ScheduleJobPhase.LOADING);
+        SchedulingProblem problem = schedulingService.loadYearlyProblem(year, warmStart, options);
+        if (problem.getNumWorkers() == 0) {
+            throw new IllegalArgumentException("No active employees found for scheduling");
+        }
+
+        String key = previewKey(problem, options, engine, null);
+        CachedPreview cached = getCached(key);
+        if (cached != null) {
+            cached.preview.recordCacheHit();
+            System.out.println("👀 Preview " + key.substring(0, 12) + " for " + year + " served from cache");
+            return cached.preview;
+        }
+
+        progressListener.onPhaseChanged(ScheduleJobPhase.SOLVING);
+        DutyScheduler.SchedulingResult result = engine.getEngine().schedule(problem, options);
+        Map<LocalDate, Long> assignments = new HashMap<>();
+        for (Shift shift : result.getShifts()) {
+            assignments.put(shift.getShiftDate(), shift.getEmployee().getId());
+        }
+        SchedulePreview preview = new SchedulePreview(key, year, engine, options.getSolverProfile().getName(),
+                warmStart, null, result);
+        synchronized (previews) {
+            previews.put(key, new CachedPreview(preview, assignments));
+        }
+        System.out.println("👀 Preview " + key.substring(0, 12) + " for " + year + " solved with " + engine + " in " +
+                String.format("%.2f", result.getWallTimeSeconds()) + "s");
+        return preview;
+    }
+
+    /**
+     * Solves up to {@code count} CP-SAT schedules for the year that each reassign at least
+     * {@code dutyfy.schedule.alternatives.min-changed-days} days of the others, within the profile's time budget.
+     *
+     * @return the balanced schedule first, then the alternatives that were found
+     */
+    public List<SchedulePreview> previewAlternatives(int year, String solverProfile, WarmStart warmStart, int count,
+                                                     SchedulingProgressListener progressListener) {
+        checkAlternativeCount(count);
+        SchedulingOptions options = schedulingService.createYearlyOptions(solverProfile);
+        options.setProgressListener(progressListener);
+
+        progressListener.onPhaseChanged(ScheduleJobPhase.LOADING);
+        SchedulingProblem problem = schedulingService.loadYearlyProblem(year, warmStart, options);
+        if (problem.getNumWorkers() == 0) {
+            throw new IllegalArgumentException("No active employees found for scheduling");
+        }
+
+        String batchKey = previewKey(problem, options, SchedulingEngineType.CP_SAT,
+                "alternatives " + count + " changing " + minChangedDays);
+        List<SchedulePreview> cachedBatch = getCachedBatch(batchKey);
+        if (cachedBatch != null) {
+            cachedBatch.forEach(SchedulePreview::recordCacheHit);
+            System.out.println("👀 " + cachedBatch.size() + " alternatives for " + year + " served from cache");
+            return cachedBatch;
+        }
+
+        progressListener.onPhaseChanged(ScheduleJobPhase.SOLVING);
+        List<DutyScheduler.SchedulingResult> results = AlternativeScheduler.scheduleAlternatives(problem, options,
+                count, minChangedDays);
+        List<SchedulePreview> batch = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            DutyScheduler.SchedulingResult result = results.get(i);
+            String variant = "alternative " + (i + 1) + " of " + results.size() + " (" + count + " requested, " +
+                    minChangedDays + " days apart)";
+            String key = previewKey(problem, options, SchedulingEngineType.CP_SAT, variant);
+            Map<LocalDate, Long> assignments = new HashMap<>();
+            for (Shift shift : result.getShifts()) {
+                assignments.put(shift.getShiftDate(), shift.getEmployee().getId());
+            }
+            SchedulePreview preview = new SchedulePreview(key, year, SchedulingEngineType.CP_SAT,
+                    options.getSolverProfile().getName(), warmStart, variant, result);
+            synchronized (previews) {
+                previews.put(key, new CachedPreview(preview, assignments));
+            }
+            batch.add(preview);
+            keys.add(key);
+        }
+        synchronized (previews) {
+            alternativeBatches.put(batchKey, keys);
+        }
+        System.out.println("👀 Previewed " + batch.size() + " alternatives for " + year);
+        return batch;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code count} alternatives can't be previewed in one batch
+     */
+    public void checkAlternativeCount(int count) {
+        if (count < 1 || count > maxAlternatives) {
+            throw new IllegalArgumentException("Between 1 and " + maxAlternatives + " alternatives can be " +
+                    "previewed, got " + count);
+        }
+    }
+
+    public Optional<SchedulePreview> getPreview(String key) {
+        return Optional.ofNullable(getCached(key)).map(cached -> cached.preview);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the preview is unknown (or evicted) or has no schedule
+     */
+    public SchedulePreview getCommittablePreview(String key) {
+        return getCommittable(key).preview;
+    }
+
+    /**
+     * Saves a cached preview as the year's schedule; runs as a job of {@link ScheduleJobService#submitCommit}.
+     *
+     * @throws IllegalArgumentException if the preview is unknown (or evicted), has no schedule, or its inputs have
+     *                                  changed since it was made
+     */
+    SchedulePreview commit(String key, SchedulingProgressListener progressListener) {
+        CachedPreview cached = getCommittable(key);
+        SchedulePreview preview = cached.preview;
+
+        progressListener.onPhaseChanged(ScheduleJobPhase.LOADING);
+        SchedulingOptions options = schedulingService.createYearlyOptions(preview.getSolverProfile());
+        SchedulingProblem problem = schedulingService.loadYearlyProblem(preview.getYear(), preview.getWarmStart(),
+                options);
+        if (!key.equals(previewKey(problem, options, preview.getEngine(), preview.getVariant()))) {
+            throw new IllegalArgumentException("Employees, off dates or constraints changed since preview " + key +
+                    " was made; please preview again");
+        }
+
+        // Fresh entities from the current snapshot; the cached result may be committed more than once
+        List<Shift> shifts = new ArrayList<>();
+        cached.assignments.forEach((date, employeeId) ->
+                shifts.add(problem.toShift(problem.workerIndex(employeeId), problem.dayIndex(date))));
+        progressListener.onPhaseChanged(ScheduleJobPhase.SAVING);
+        schedulingService.saveYearlySchedule(preview.getYear(), shifts);
+        System.out.println("💾 Committed preview " + key.substring(0, 12) + " as the " + preview.getYear() +
+                " schedule");
+        return preview;
+    }
+
+    private CachedPreview getCommittable(String key) {
+        CachedPreview cached = getCached(key);
+        if (cached == null) {
+            throw new IllegalArgumentException("Preview " + key + " was not found; it may have been evicted, " +
+                    "please preview again");
+        }
+        if (!cached.preview.isSuccess()) {
+            throw new IllegalArgumentException("Preview " + key + " has no schedule to commit");
+        }
+        return cached;
+    }
+
+    private CachedPreview getCached(String key) {
+        synchronized (previews) {
+            return previews.get(key);
+        }
+    }
+
+    /**
+     * @return all previews of the batch, or {@code null} if the batch or any of its previews was evicted
+     */
+    private List<SchedulePreview> getCachedBatch(String batchKey) {
+        synchronized (previews) {
+            List<String> keys = alternativeBatches.get(batchKey);
+            if (keys == null) {
+                return null;
+            }
+            List<SchedulePreview> batch = new ArrayList<>();
+            for (String key : keys) {
+                CachedPreview cached = previews.get(key);
+                if (cached == null) {
+                    return null;
+                }
+                batch.add(cached.preview);
+            }
+            return batch;
+        }
+    }
+
+    /**
+     * The problem fingerprint plus the engine, the options that change the result and which alternative of a batch
+     * the preview is, if any.
+     */
+    private static String previewKey(SchedulingProblem problem, SchedulingOptions options,
+                                      SchedulingEngineType engine, String variant) {
+        String inputs = problem.fingerprint() + '|' + engine + '|' + options.getSolverProfile() + '|' +
+                options.getFairnessTolerance() + '|' + options.getChurnPenalty() + '|' +
+                new TreeMap<>(options.getHintAssignments()) + (variant != null ? '|' + variant : "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(inputs.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class CachedPreview {
+        private final SchedulePreview preview;
+        private final Map<LocalDate, Long> assignments;
+
+        CachedPreview(SchedulePreview preview, Map<LocalDate, Long> assignments) {
+            this.preview = preview;
+            this.assignments = assignments;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.AdminConstraint;
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.PreferredOffDate;
+import com.bmc.dutyfy.model.SchedulingProblem;
+import com.bmc.dutyfy.repository.AdminConstraintRepository;
+import com.bmc.dutyfy.repository.EmployeeRepository;
+import com.bmc.dutyfy.repository.PreferredOffDateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Loads the solver input for a date range with a fixed number of queries, whatever the headcount: the active
+ * employees, their preferred off dates in the range, their admin constraints in the range and the duty statistics of
+ * the earlier years. The off dates and constraints fetch their employee in the same query and the employees' lazy
+ * collections are never touched.
+ * <p>
+ * The load an employee carries into the range is their weighted yearly shift total over the earlier years, taken
+ * from the duty statistics the same way for every employee; years the statistics don't cover count the employee's
+ * previous-year shifts, see {@link DutyStatisticsService#getCarriedShifts}.
+ */
+@Service
+public class SchedulingInputLoader {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private PreferredOffDateRepository preferredOffDateRepository;
+    @Autowired
+    private AdminConstraintRepository adminConstraintRepository;
+    @Autowired
+    private DutyStatisticsService dutyStatisticsService;
+
+    @Transactional(readOnly = true)
+    public SchedulingProblem load(LocalDate startDate, LocalDate endDate, List<LocalDate> holidays,
+                                  ToIntFunction<Employee> restDaysPolicy) {
+        List<Employee> activeEmployees = employeeRepository.findByActiveTrue();
+        List<PreferredOffDate> offDates =
+                preferredOffDateRepository.findByEmployeeActiveTrueAndOffDateBetween(startDate, endDate);
+        List<AdminConstraint> adminConstraints =
+                adminConstraintRepository.findByEmployeeActiveTrueAndConstraintDateBetween(startDate, endDate);
+        Map<Long, Integer> carriedShifts = dutyStatisticsService.getCarriedShifts(startDate.getYear(),
+                activeEmployees);
+        return SchedulingProblem.of(activeEmployees, startDate, endDate, offDates, adminConstraints, holidays,
+                restDaysPolicy, employee -> carriedShifts.get(employee.getId()));
+    }
+}
@@ -1,7 +1,8 @@
 package com.bmc.dutyfy.service;
 
+import com.bmc.dutyfy.config.RestWindowProperties;
+import com.bmc.dutyfy.config.SolverProperties;
 import com.bmc.dutyfy.model.*;
-import com.bmc.dutyfy.repository.AdminConstraintRepository;
 import com.bmc.dutyfy.repository.EmployeeRepository;
 import com.bmc.dutyfy.repository.PreferredOffDateRepository;
 import com.bmc.dutyfy.repository.ShiftRepository;
@@ -9,101 +10,317 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ShiftSchedulingService {
 
-    // Define your company holidays here or load from database
-    private final List<LocalDate> holidays = Arrays.asList(
-            LocalDate.of(2025, 1, 1),   // New Year
-            LocalDate.of(2025, 7, 4),   // Independence Day
-            LocalDate.of(2025, 12, 25)  // Christmas
+    // Define your company holidays here or load from database; they fall on the same date every year
+    private final List<MonthDay> holidays = Arrays.asList(
+            MonthDay.of(1, 1),   // New Year
+            MonthDay.of(7, 4),   // Independence Day
+            MonthDay.of(12, 25)  // Christmas
     );
     @Autowired
     private EmployeeRepository employeeRepository;
     @Autowired
     private ShiftRepository shiftRepository;
     @Autowired
-    private AdminConstraintRepository adminConstraintRepository;
-    @Autowired
     private PreferredOffDateRepository preferredOffDateRepository;
     @Autowired
+    private SchedulingInputLoader schedulingInputLoader;
+    @Autowired
+    private ScheduleIndexService scheduleIndexService;
+    @Autowired
+    private DutyStatisticsService dutyStatisticsService;
+    @Autowired
     private EmailService emailService;
+    @Autowired
+    private SolverProperties solverProperties;
+    @Autowired
+    private SubproblemExecutor subproblemExecutor;
+    @Autowired
+    private RestWindowProperties restWindowProperties;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
     @Value("${dutyfy.schedule.notification-days-before:7}")
     private int notificationDaysBefore;
     @Value("${dutyfy.schedule.max-preferred-off-days:5}")
     private int maxPreferredOffDays;
+    @Value("${dutyfy.schedule.warm-start-churn-penalty:5}")
+    private int warmStartChurnPenalty;
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DutyScheduler.SchedulingResult createYearlySchedule(int year) {
-        LocalDate startDate = LocalDate.of(year, 1, 1);
-        LocalDate endDate = LocalDate.of(year, 12, 31);
+        return createYearlySchedule(year, null, WarmStart.NONE, SchedulingProgressListener.NONE);
+    }
 
-        // Get active employees
-        List<Employee> activeEmployees = employeeRepository.findAll().stream()
-                .filter(Employee::isActive)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DutyScheduler.SchedulingResult createYearlySchedule(int year, String solverProfile, WarmStart warmStart,
+                                                               SchedulingProgressListener progressListener) {
+        return createYearlySchedule(year, solverProfile, warmStart, SchedulingEngineType.CP_SAT, progressListener);
+    }
 
-        if (activeEmployees.isEmpty()) {
+    /**
+     * Loads a {@link SchedulingProblem} snapshot in one short transaction, solves it with the chosen engine without
+     * holding a connection or persistence context, and saves the result in a second transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DutyScheduler.SchedulingResult createYearlySchedule(int year, String solverProfile, WarmStart warmStart,
+                                                               SchedulingEngineType engine,
+                                                               SchedulingProgressListener progressListener) {
+        SchedulingOptions options = createYearlyOptions(solverProfile);
+        options.setProgressListener(progressListener);
+
+        progressListener.onPhaseChanged(ScheduleJobPhase.LOADING);
+        SchedulingProblem problem = loadYearlyProblem(year, warmStart, options);
+
+        if (problem.getNumWorkers() == 0) {
             List<String> warnings = Arrays.asList("No active employees found for scheduling");
             emailService.sendSchedulingFailureEmail(warnings, year);
             return new DutyScheduler.SchedulingResult(false, Arrays.asList(), warnings);
         }
 
-        // Get admin constraints for the year
-        List<AdminConstraint> adminConstraints = adminConstraintRepository.findByYear(year);
-
         // Create schedule
-        DutyScheduler.SchedulingResult result = DutyScheduler.scheduleDuties(
-                activeEmployees, startDate, endDate, adminConstraints, holidays);
+        progressListener.onPhaseChanged(ScheduleJobPhase.SOLVING);
+        DutyScheduler.SchedulingResult result = engine.getEngine().schedule(problem, options);
 
         if (result.isSuccess()) {
-            // Clear existing shifts for the year
-            clearExistingShifts(year);
+            progressListener.onPhaseChanged(ScheduleJobPhase.SAVING);
+            saveYearlySchedule(year, result.getShifts());
+        } else {
+            emailService.sendSchedulingFailureEmail(result.getWarnings(), year);
+        }
 
-            // Save new shifts
-            shiftRepository.saveAll(result.getShifts());
+        return result;
+    }
+
+    public SchedulingOptions createYearlyOptions(String solverProfile) {
+        SchedulingOptions options = new SchedulingOptions();
+        options.setSolverProfile(solverProperties.getProfile(solverProfile));
+        options.setSubproblemExecutor(subproblemExecutor);
+        options.setChurnPenalty(warmStartChurnPenalty);
+        return options;
+    }
+
+    /**
+     * Snapshots the inputs of a yearly solve in one short transaction and sets the warm-start hints on
+     * {@code options}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SchedulingProblem loadYearlyProblem(int year, WarmStart warmStart, SchedulingOptions options) {
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+
+        return transactionTemplate.execute(status -> {
+            options.setHintAssignments(loadHintAssignments(year, warmStart));
+            return schedulingInputLoader.load(startDate, endDate, holidaysIn(Set.of(year)),
+                    restWindowProperties::getRestDays);
+        });
+    }
+
+    /**
+     * Replaces the year's shifts with {@code shifts} and refreshes the previous-year counts, in one transaction.
+     * Only dates whose employee changed are written, see {@link #replaceShifts}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void saveYearlySchedule(int year, List<Shift> shifts) {
+        int changed = transactionTemplate.execute(status -> {
+            int written = replaceShifts(getShiftsBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)),
+                    shifts);
 
             // Update previous year shift counts
             updatePreviousYearShiftCounts(year);
+            return written;
+        });
+
+        System.out.println("✅ Successfully created schedule for " + year + ": " + changed + " of " + shifts.size() +
+                " shifts changed");
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DutyScheduler.SchedulingResult rescheduleWindow(LocalDate startDate, LocalDate endDate,
+                                                           String solverProfile,
+                                                           SchedulingProgressListener progressListener) {
+        return rescheduleWindow(startDate, endDate, solverProfile, SchedulingEngineType.CP_SAT, progressListener);
+    }
+
+    /**
+     * Re-solves only the shifts between {@code startDate} and {@code endDate} (inclusive). Shifts outside the window
+     * are left untouched; the ones close to its edges are passed to the solver as fixed so the consecutive-shift rule
+     * still holds across the boundary.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DutyScheduler.SchedulingResult rescheduleWindow(LocalDate startDate, LocalDate endDate,
+                                                           String solverProfile, SchedulingEngineType engine,
+                                                           SchedulingProgressListener progressListener) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Window end " + endDate + " is before its start " + startDate);
+        }
 
-            System.out.println("✅ Successfully created schedule for " + year);
+        SchedulingOptions options = new SchedulingOptions();
+        options.setSolverProfile(solverProperties.getProfile(solverProfile));
+        options.setSubproblemExecutor(subproblemExecutor);
+        options.setProgressListener(progressListener);
+        options.setChurnPenalty(warmStartChurnPenalty);
+
+        progressListener.onPhaseChanged(ScheduleJobPhase.LOADING);
+        SchedulingProblem problem = transactionTemplate.execute(status -> {
+            Set<Integer> years = new TreeSet<>();
+            for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+                years.add(year);
+            }
+            SchedulingProblem windowProblem = schedulingInputLoader.load(startDate, endDate, holidaysIn(years),
+                    restWindowProperties::getRestDays);
+
+            int maxRestDays = windowProblem.getMaxRestDays();
+            Map<LocalDate, Long> fixedAssignments = new HashMap<>();
+            getShiftsBetween(startDate.minusDays(maxRestDays), startDate.minusDays(1))
+                    .forEach(shift -> fixedAssignments.put(shift.getShiftDate(), shift.getEmployee().getId()));
+            getShiftsBetween(endDate.plusDays(1), endDate.plusDays(maxRestDays))
+                    .forEach(shift -> fixedAssignments.put(shift.getShiftDate(), shift.getEmployee().getId()));
+            options.setFixedAssignments(fixedAssignments);
+
+            Map<LocalDate, Long> hints = new HashMap<>();
+            getShiftsBetween(startDate, endDate)
+                    .forEach(shift -> hints.put(shift.getShiftDate(), shift.getEmployee().getId()));
+            options.setHintAssignments(hints);
+
+            return windowProblem;
+        });
+
+        if (problem.getNumWorkers() == 0) {
+            List<String> warnings = Arrays.asList("No active employees found for scheduling");
+            emailService.sendSchedulingFailureEmail(warnings, startDate.getYear());
+            return new DutyScheduler.SchedulingResult(false, Arrays.asList(), warnings);
+        }
+
+        progressListener.onPhaseChanged(ScheduleJobPhase.SOLVING);
+        DutyScheduler.SchedulingResult result = engine.getEngine().schedule(problem, options);
+
+        if (result.isSuccess()) {
+            progressListener.onPhaseChanged(ScheduleJobPhase.SAVING);
+            // Re-read the window: shifts may have been swapped while the solver was running
+            int changed = transactionTemplate.execute(status ->
+                    replaceShifts(getShiftsBetween(startDate, endDate), result.getShifts()));
+            System.out.println("✅ Rescheduled " + startDate + " - " + endDate + ": " + changed + " of " +
+                    result.getShifts().size() + " shifts changed");
         } else {
-            emailService.sendSchedulingFailureEmail(result.getWarnings(), year);
+            emailService.sendSchedulingFailureEmail(result.getWarnings(), startDate.getYear());
         }
 
         return result;
     }
 
-    private void clearExistingShifts(int year) {
-        List<Shift> existingShifts = shiftRepository.findAll().stream()
-                .filter(shift -> shift.getShiftDate().getYear() == year)
-                .collect(Collectors.toList());
+    /**
+     * Reuses the existing row for every re-solved date so shift ids (and swap requests pointing at them) survive;
+     * only the employee changes where the solver picked someone else. Rows are inserted only for newly covered
+     * dates and deleted only for dates that are no longer covered (or duplicated), so the write volume follows the
+     * size of the change and the updates go out as JDBC batches. The duty statistics are moved along with the
+     * changed shifts, and the schedule indexes of the touched years are rebuilt once the transaction commits.
+     *
+     * @return the number of inserted, updated and deleted rows
+     */
+    private int replaceShifts(List<Shift> existingShifts, List<Shift> newShifts) {
+        Map<LocalDate, Shift> existingByDate = new HashMap<>();
+        List<Shift> obsolete = new ArrayList<>();
+        for (Shift shift : existingShifts) {
+            if (existingByDate.putIfAbsent(shift.getShiftDate(), shift) != null) {
+                obsolete.add(shift);
+            }
+        }
 
-        if (!existingShifts.isEmpty()) {
-            shiftRepository.deleteAll(existingShifts);
-            System.out.println("Cleared " + existingShifts.size() + " existing shifts for " + year);
+        List<Shift> toSave = new ArrayList<>();
+        // Shifts as they were assigned before the change, for the statistics
+        List<Shift> released = new ArrayList<>();
+        for (Shift newShift : newShifts) {
+            Shift existing = existingByDate.remove(newShift.getShiftDate());
+            if (existing == null) {
+                toSave.add(newShift);
+            } else if (!existing.getEmployee().getId().equals(newShift.getEmployee().getId())) {
+                released.add(new Shift(existing.getEmployee(), existing.getShiftDate()));
+                existing.setEmployee(newShift.getEmployee());
+                toSave.add(existing);
+            }
         }
+        obsolete.addAll(existingByDate.values());
+        released.addAll(obsolete);
+
+        Set<Integer> touchedYears = new TreeSet<>();
+        released.forEach(shift -> touchedYears.add(shift.getShiftDate().getYear()));
+        toSave.forEach(shift -> touchedYears.add(shift.getShiftDate().getYear()));
+
+        shiftRepository.deleteAll(obsolete);
+        shiftRepository.saveAll(toSave);
+        dutyStatisticsService.recordShiftChanges(released, toSave, holidaysIn(touchedYears));
+        shiftRepository.flush();
+
+        scheduleIndexService.refreshAfterCommit(touchedYears);
+        return toSave.size() + obsolete.size();
     }
 
-    private void updatePreviousYearShiftCounts(int currentYear) {
-        int previousYear = currentYear - 1;
-        List<Employee> employees = employeeRepository.findAll();
+    /**
+     * Hands a committed shift to another employee, moving its duty counts along with it.
+     */
+    public void reassignShift(Shift shift, Employee employee) {
+        Shift released = new Shift(shift.getEmployee(), shift.getShiftDate());
+        shift.setEmployee(employee);
+        shiftRepository.save(shift);
+        Set<Integer> years = Set.of(shift.getShiftDate().getYear());
+        dutyStatisticsService.recordShiftChanges(List.of(released), List.of(shift), holidaysIn(years));
+        scheduleIndexService.refreshAfterCommit(years);
+    }
 
-        for (Employee employee : employees) {
-            long previousYearCount = employee.getShifts().stream()
-                    .filter(shift -> shift.getShiftDate().getYear() == previousYear)
-                    .count();
+    private List<LocalDate> holidaysIn(Set<Integer> years) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int year : years) {
+            holidays.forEach(holiday -> dates.add(holiday.atYear(year)));
+        }
+        return dates;
+    }
+
+    private List<Shift> getShiftsBetween(LocalDate startDate, LocalDate endDate) {
+        return shiftRepository.findByShiftDateBetweenOrderByShiftDate(startDate, endDate);
+    }
 
-            employee.setPreviousYearShifts((int) previousYearCount);
-            employeeRepository.save(employee);
+    private Map<LocalDate, Long> loadHintAssignments(int year, WarmStart warmStart) {
+        Map<LocalDate, Long> hints = new HashMap<>();
+        switch (warmStart) {
+            case EXISTING -> hints.putAll(scheduleIndexService.getIndex(year).getAssignments());
+            case PREVIOUS_YEAR -> scheduleIndexService.getIndex(year - 1).getAssignments()
+                    .forEach((date, employeeId) -> {
+                        // 52 weeks later falls on the same weekday, so weekend and weekday patterns carry over
+                        LocalDate rotatedDate = date.plusWeeks(52);
+                        if (rotatedDate.getYear() == year) {
+                            hints.put(rotatedDate, employeeId);
+                        }
+                    });
+            case NONE -> {
+            }
         }
+        return hints;
+    }
+
+    private void updatePreviousYearShiftCounts(int currentYear) {
+        int previousYear = currentYear - 1;
+        int updated = employeeRepository.updatePreviousYearShifts(LocalDate.of(previousYear, 1, 1),
+                LocalDate.of(previousYear, 12, 31), LocalDateTime.now());
+        System.out.println("Refreshed " + previousYear + " shift counts of " + updated + " employees");
     }
 
     // Scheduled task to send reminders (runs daily at 9 AM)
@@ -170,15 +387,33 @@ public class ShiftSchedulingService {
         preferredOffDateRepository.saveAll(newOffDates);
     }
 
-    public List<Shift> getShiftsForYear(int year) {
-        return shiftRepository.findAll().stream()
-                .filter(shift -> shift.getShiftDate().getYear() == year)
-                .collect(Collectors.toList());
+    /**
+     * @return the year's shifts ordered by date, from its {@link ScheduleIndex}
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ScheduledShift> getShiftsForYear(int year) {
+        return scheduleIndexService.getIndex(year).getShifts();
     }
 
-    public List<Shift> getShiftsForEmployee(Employee employee, int year) {
-        return employee.getShifts().stream()
-                .filter(shift -> shift.getShiftDate().getYear() == year)
-                .collect(Collectors.toList());
+    /**
+     * @return the employee's shifts in the year ordered by date, from its {@link ScheduleIndex}
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ScheduledShift> getShiftsForEmployee(Employee employee, int year) {
+        return getShiftsForEmployee(employee, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ScheduledShift> getShiftsForEmployee(Employee employee, LocalDate startDate, LocalDate endDate) {
+        List<ScheduledShift> shifts = new ArrayList<>();
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            shifts.addAll(scheduleIndexService.getIndex(year).getShiftsFor(employee.getId(), startDate, endDate));
+        }
+        return shifts;
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean hasShiftOn(Employee employee, LocalDate date) {
+        return scheduleIndexService.getIndex(date.getYear()).isOnDuty(employee.getId(), date);
     }
 }
\ No newline at end of file
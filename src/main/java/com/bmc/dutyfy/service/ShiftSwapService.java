@@ -4,7 +4,6 @@ import com.bmc.dutyfy.model.Employee;
 import com.bmc.dutyfy.model.Shift;
 import com.bmc.dutyfy.model.ShiftSwapRequest;
 import com.bmc.dutyfy.model.SwapStatus;
-import com.bmc.dutyfy.repository.ShiftRepository;
 import com.bmc.dutyfy.repository.ShiftSwapRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -24,7 +23,10 @@ public class ShiftSwapService {
     private ShiftSwapRequestRepository swapRequestRepository;
 
     @Autowired
-    private ShiftRepository shiftRepository;
+    private DutyStatisticsService dutyStatisticsService;
+
+    @Autowired
+    private ShiftSchedulingService schedulingService;
 
     @Autowired
     private EmailService emailService;
@@ -78,26 +80,11 @@ public class ShiftSwapService {
             throw new IllegalArgumentException("This request has already been processed");
         }
 
-        // Find the target employee's shift on the same date
-        Optional<Shift> targetShift = shiftRepository.findAll().stream()
-                .filter(s -> s.getEmployee().equals(request.getTargetEmployee()) &&
-                        s.getShiftDate().equals(request.getShift().getShiftDate()))
-                .findFirst();
-
-        if (targetShift.isEmpty()) {
-            throw new IllegalArgumentException("Target employee doesn't have a shift on the same date");
-        }
-
-        // Perform the swap
+        // Perform the swap: there is one shift per date, so the target employee takes it over
         Shift requesterShift = request.getShift();
-        Shift targetEmployeeShift = targetShift.get();
-
-        Employee tempEmployee = requesterShift.getEmployee();
-        requesterShift.setEmployee(targetEmployeeShift.getEmployee());
-        targetEmployeeShift.setEmployee(tempEmployee);
-
-        shiftRepository.save(requesterShift);
-        shiftRepository.save(targetEmployeeShift);
+        schedulingService.reassignShift(requesterShift, request.getTargetEmployee());
+        dutyStatisticsService.recordSwap(request.getRequester(), request.getTargetEmployee(),
+                requesterShift.getShiftDate());
 
         // Update request status
         request.setStatus(SwapStatus.APPROVED);
@@ -0,0 +1,85 @@
+package com.bmc.dutyfy.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bmc.dutyfy.model.SchedulingFixtures.START;
+import static com.bmc.dutyfy.model.SchedulingFixtures.assertValidSchedule;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createAdminConstraints;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createTeam;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that several schedules solved in one call are each valid and differ from each other by the requested number
+ * of days, on a quarter and on a year for a full team.
+ */
+class AlternativeSchedulerTest {
+
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+    private static final List<LocalDate> HOLIDAYS = List.of(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 4), LocalDate.of(2025, 12, 25));
+
+    @Test
+    void returnsDiverseValidSchedulesForAQuarter() {
+        List<Employee> employees = createTeam(10);
+        SchedulingProblem problem = SchedulingProblem.of(employees, START, LocalDate.of(2025, 3, 31),
+                createAdminConstraints(employees, 60), HOLIDAYS);
+
+        List<DutyScheduler.SchedulingResult> results = AlternativeScheduler.scheduleAlternatives(problem,
+                options(3.0), 3, 10);
+
+        assertDiverseValidSchedules(problem, results, 10);
+    }
+
+    @Test
+    @Tag(SchedulingFixtures.BENCHMARK)
+    void returnsDiverseValidSchedulesForAYear() {
+        List<Employee> employees = createTeam(25);
+        SchedulingProblem problem = SchedulingProblem.of(employees, START, END,
+                createAdminConstraints(employees, 300), HOLIDAYS);
+
+        long started = System.nanoTime();
+        List<DutyScheduler.SchedulingResult> results = AlternativeScheduler.scheduleAlternatives(problem,
+                options(20.0), 4, 30);
+        double wallTime = (System.nanoTime() - started) / 1e9;
+
+        System.out.println("Alternative | status   | total | off dates | load | weekends | holidays");
+        for (int i = 0; i < results.size(); i++) {
+            ObjectiveBreakdown breakdown = results.get(i).getObjectiveBreakdown();
+            System.out.printf("%11d | %-8s | %5d | %9d | %4d | %8d | %8d%n", i + 1, results.get(i).getSolverStatus(),
+                    breakdown.getTotal(), breakdown.getOffDatePenalty(), breakdown.getLoadSpreadPenalty(),
+                    breakdown.getWeekendSpreadPenalty(), breakdown.getHolidaySpreadPenalty());
+        }
+        System.out.printf("%d schedules in %.2fs%n", results.size(), wallTime);
+
+        assertDiverseValidSchedules(problem, results, 30);
+    }
+
+    private static SchedulingOptions options(double maxTimeInSeconds) {
+        // Few CP-SAT workers, so the rounds still find first solutions on small CI machines
+        return SchedulingFixtures.options(new SolverProfile("benchmark", 2, maxTimeInSeconds, 0.0, 1, 0));
+    }
+
+    private static void assertDiverseValidSchedules(SchedulingProblem problem,
+                                                    List<DutyScheduler.SchedulingResult> results,
+                                                    int minChangedDays) {
+        assertTrue(results.size() >= 2, "Expected at least one alternative: " + results.get(0).getWarnings());
+        List<Map<LocalDate, Long>> schedules = new ArrayList<>();
+        for (DutyScheduler.SchedulingResult result : results) {
+            assertValidSchedule(problem, result);
+            Map<LocalDate, Long> schedule = new HashMap<>();
+            result.getShifts().forEach(shift -> schedule.put(shift.getShiftDate(), shift.getEmployee().getId()));
+            for (Map<LocalDate, Long> other : schedules) {
+                int changed = AlternativeScheduler.changedDays(other, schedule);
+                assertTrue(changed >= minChangedDays, "Alternatives only " + changed + " days apart");
+            }
+            schedules.add(schedule);
+        }
+    }
+}
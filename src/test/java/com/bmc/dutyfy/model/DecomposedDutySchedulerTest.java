@@ -0,0 +1,99 @@
+package com.bmc.dutyfy.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.bmc.dutyfy.model.SchedulingFixtures.START;
+import static com.bmc.dutyfy.model.SchedulingFixtures.assertValidSchedule;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createAdminConstraints;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createTeam;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that decomposed solves stitch their parts into a valid schedule, and compares them with the monolithic
+ * solve on a two-year horizon for a large team.
+ */
+class DecomposedDutySchedulerTest {
+
+    private static final LocalDate END = LocalDate.of(2026, 12, 31);
+    private static final List<LocalDate> HOLIDAYS = List.of(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 4), LocalDate.of(2025, 12, 25),
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 7, 4), LocalDate.of(2026, 12, 25));
+
+    @Test
+    void monthlySolveOfAQuarterIsValid() {
+        List<Employee> employees = createTeam(10);
+        SchedulingProblem problem = SchedulingProblem.of(employees, START, LocalDate.of(2025, 3, 31),
+                createAdminConstraints(employees, 60), HOLIDAYS);
+
+        // Two pool threads and a one-slot queue, so the third chunk runs on the calling thread
+        SubproblemExecutor executor = new SubproblemExecutor(2, 1);
+        try {
+            SchedulingOptions options = options(Decomposition.MONTHLY, 2.0);
+            options.setSubproblemExecutor(executor);
+            assertValidSchedule(problem, DutyScheduler.scheduleDuties(problem, options));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void monthlySolveWithLongRestWindowsIsValid() {
+        // Six rest days widen the seam repairs until neighbouring monthly seams overlap
+        List<Employee> employees = createTeam(12);
+        employees.forEach(employee -> employee.setRestDays(6));
+        SchedulingProblem problem = SchedulingProblem.of(employees, START, LocalDate.of(2025, 4, 30),
+                createAdminConstraints(employees, 60), HOLIDAYS);
+
+        assertValidSchedule(problem, DutyScheduler.scheduleDuties(problem, options(Decomposition.MONTHLY, 2.0)));
+    }
+
+    @Test
+    void mergesSeamWindowsThatReadEachOthersDays() {
+        LocalDate[] februarySeam = {LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 11)};
+        LocalDate[] marchSeam = {LocalDate.of(2025, 2, 17), LocalDate.of(2025, 3, 13)};
+        LocalDate[] juneSeam = {LocalDate.of(2025, 5, 20), LocalDate.of(2025, 6, 11)};
+
+        List<LocalDate[]> merged = DecomposedDutyScheduler.mergeSeamWindows(
+                List.of(februarySeam, marchSeam, juneSeam), 6);
+
+        assertEquals(2, merged.size());
+        assertArrayEquals(new LocalDate[]{februarySeam[0], marchSeam[1]}, merged.get(0));
+        assertArrayEquals(juneSeam, merged.get(1));
+    }
+
+    @Test
+    @Tag(SchedulingFixtures.BENCHMARK)
+    void decomposedSolveProducesValidScheduleComparableToMonolithic() {
+        List<Employee> employees = createTeam(25);
+        List<AdminConstraint> adminConstraints = createAdminConstraints(employees, 60);
+
+        SchedulingProblem problem = SchedulingProblem.of(employees, START, END, adminConstraints, HOLIDAYS);
+
+        DutyScheduler.SchedulingResult monolithic = DutyScheduler.scheduleDuties(problem,
+                options(Decomposition.NONE, 10.0));
+        DutyScheduler.SchedulingResult quarterly = DutyScheduler.scheduleDuties(problem,
+                options(Decomposition.QUARTERLY, 10.0));
+        DutyScheduler.SchedulingResult monthly = DutyScheduler.scheduleDuties(problem,
+                options(Decomposition.MONTHLY, 10.0));
+
+        System.out.println("Strategy   | status   | wall time (s) | score");
+        for (DutyScheduler.SchedulingResult result : List.of(monolithic, quarterly, monthly)) {
+            System.out.printf("%-10s | %-8s | %13.2f | %d%n", result.getSolverProfile(), result.getSolverStatus(),
+                    result.getWallTimeSeconds(), DutyScheduler.scoreSchedule(problem, result.getShifts()));
+        }
+
+        assertValidSchedule(problem, quarterly);
+        assertValidSchedule(problem, monthly);
+    }
+
+    private static SchedulingOptions options(Decomposition decomposition, double maxTimeInSeconds) {
+        SolverProfile profile = new SolverProfile(decomposition.name().toLowerCase(), 8, maxTimeInSeconds, 0.0, 1, 0);
+        profile.setDecomposition(decomposition);
+        return SchedulingFixtures.options(profile);
+    }
+}
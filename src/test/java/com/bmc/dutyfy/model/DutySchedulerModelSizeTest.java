@@ -0,0 +1,65 @@
+package com.bmc.dutyfy.model;
+
+import com.google.ortools.sat.CpModelProto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how the model shrinks when admin-blocked cells get no variable, against the dense encoding (one variable
+ * per worker/day plus one equality per blocked cell).
+ */
+class DutySchedulerModelSizeTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 12, 31);
+
+    @Test
+    void modelSizeShrinksWithConstraintDensity() {
+        List<Employee> employees = SchedulingFixtures.createTeam(25);
+        DutyScheduler.ShiftModel unconstrainedModel = buildModel(employees, List.of());
+        CpModelProto unconstrained = unconstrainedModel.getModel().model();
+        int cells = unconstrainedModel.getVariableCount();
+        // Fairness counters and other helpers don't depend on the blocked cells
+        int helperVariables = unconstrained.getVariablesCount() - cells;
+
+        System.out.println("Blocked | dense vars | sparse vars | dense constraints | sparse constraints | " +
+                "sparse bytes | build (ms)");
+        long previousBytes = Long.MAX_VALUE;
+        for (double density : new double[]{0.0, 0.1, 0.25, 0.5}) {
+            List<AdminConstraint> adminConstraints =
+                    SchedulingFixtures.createAdminConstraints(employees, (int) (cells * density));
+            SchedulingProblem problem = SchedulingProblem.of(employees, START, END, adminConstraints, List.of());
+            int blocked = 0;
+            for (int w = 0; w < problem.getNumWorkers(); w++) {
+                blocked += problem.getBlockedDays(w).cardinality();
+            }
+
+            long started = System.nanoTime();
+            DutyScheduler.ShiftModel shiftModel = DutyScheduler.buildModel(problem, new SchedulingOptions(),
+                    new ArrayList<>());
+            long buildMillis = (System.nanoTime() - started) / 1_000_000;
+            CpModelProto proto = shiftModel.getModel().model();
+
+            System.out.printf("%6.1f%% | %10d | %11d | %17d | %18d | %12d | %10d%n", 100.0 * blocked / cells,
+                    cells + helperVariables, proto.getVariablesCount(), unconstrained.getConstraintsCount() + blocked,
+                    proto.getConstraintsCount(), proto.getSerializedSize(), buildMillis);
+
+            assertEquals(cells - blocked, shiftModel.getVariableCount());
+            assertEquals(cells - blocked + helperVariables, proto.getVariablesCount());
+            assertTrue(proto.getSerializedSize() <= previousBytes);
+            previousBytes = proto.getSerializedSize();
+        }
+    }
+
+    private static DutyScheduler.ShiftModel buildModel(List<Employee> employees,
+                                                       List<AdminConstraint> adminConstraints) {
+        SchedulingProblem problem = SchedulingProblem.of(employees, START, END, adminConstraints, List.of());
+        return DutyScheduler.buildModel(problem, new SchedulingOptions(), new ArrayList<>());
+    }
+}
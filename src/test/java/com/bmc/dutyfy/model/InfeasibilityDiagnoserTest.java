@@ -0,0 +1,69 @@
+package com.bmc.dutyfy.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bmc.dutyfy.model.SchedulingFixtures.START;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createAdminConstraints;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createTeam;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an INFEASIBLE solve names exactly the requirements that clash, and how long the diagnosis takes.
+ */
+class InfeasibilityDiagnoserTest {
+
+    // A quarter is enough to diagnose a blocked day and keeps the core search short
+    private static final LocalDate QUARTER_START = LocalDate.of(2025, 7, 1);
+    private static final LocalDate QUARTER_END = LocalDate.of(2025, 9, 30);
+    private static final LocalDate BLOCKED_DATE = LocalDate.of(2025, 7, 4);
+
+    @Test
+    void reportsTheAdminConstraintsBlockingADay() {
+        List<Employee> employees = createTeam(25);
+        List<AdminConstraint> adminConstraints = createAdminConstraints(employees, 200);
+        for (int i = 0; i < adminConstraints.size(); i++) {
+            adminConstraints.get(i).setId((long) i + 1);
+        }
+        // Everyone is blocked on the same day
+        for (Employee employee : employees) {
+            AdminConstraint constraint = new AdminConstraint(employee, BLOCKED_DATE, "Company event", false);
+            constraint.setId(1000 + employee.getId());
+            adminConstraints.add(constraint);
+        }
+        SchedulingProblem problem = SchedulingProblem.of(employees, QUARTER_START, QUARTER_END, adminConstraints,
+                List.of());
+
+        DutyScheduler.SchedulingResult result = DutyScheduler.scheduleDuties(problem, new SchedulingOptions());
+        System.out.println("Conflicts: " + result.getConflicts());
+
+        assertFalse(result.isSuccess());
+        assertEquals(employees.size(), result.getConflicts().size());
+        for (SchedulingConflict conflict : result.getConflicts()) {
+            assertEquals(SchedulingConflict.Type.ADMIN_CONSTRAINT, conflict.getType());
+            assertEquals(BLOCKED_DATE, conflict.getDate());
+            assertEquals(1000 + conflict.getEmployeeId(), conflict.getAdminConstraintId());
+        }
+    }
+
+    @Test
+    void reportsTheRestWindowsOfATooSmallTeam() {
+        // Three employees with three rest days can cover at most three days out of four
+        List<Employee> employees = createTeam(3);
+        SchedulingProblem problem = SchedulingProblem.of(employees, START, START.plusDays(29), new ArrayList<>(),
+                List.of());
+
+        DutyScheduler.SchedulingResult result = DutyScheduler.scheduleDuties(problem, new SchedulingOptions());
+        System.out.println("Conflicts: " + result.getConflicts());
+
+        assertFalse(result.isSuccess());
+        assertEquals(employees.size(), result.getConflicts().size());
+        assertTrue(result.getConflicts().stream()
+                .allMatch(conflict -> conflict.getType() == SchedulingConflict.Type.REST_WINDOW));
+    }
+}
@@ -0,0 +1,67 @@
+package com.bmc.dutyfy.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.bmc.dutyfy.model.SchedulingFixtures.START;
+import static com.bmc.dutyfy.model.SchedulingFixtures.assertValidSchedule;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createAdminConstraints;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createTeam;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the local-search preview engine produces a valid year, and compares it against CP-SAT on a year for a
+ * full team.
+ */
+class LocalSearchSchedulingEngineTest {
+
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Test
+    void producesAValidYearScoredLikeCpSat() {
+        SchedulingProblem problem = createProblem();
+
+        DutyScheduler.SchedulingResult result = SchedulingEngineType.LOCAL_SEARCH.getEngine()
+                .schedule(problem, new SchedulingOptions());
+
+        assertValidSchedule(problem, result);
+        assertEquals(DutyScheduler.scoreSchedule(problem, result.getShifts()), result.getObjectiveValue());
+    }
+
+    @Test
+    @Tag(SchedulingFixtures.BENCHMARK)
+    void comparesWarmAndColdPreviewsWithCpSat() {
+        SchedulingProblem problem = createProblem();
+        SchedulingEngine engine = SchedulingEngineType.LOCAL_SEARCH.getEngine();
+
+        // First call pays for class loading and JIT, like the first preview after startup
+        DutyScheduler.SchedulingResult cold = engine.schedule(problem, new SchedulingOptions());
+        DutyScheduler.SchedulingResult warm = engine.schedule(problem, new SchedulingOptions());
+
+        DutyScheduler.SchedulingResult cpSat = SchedulingEngineType.CP_SAT.getEngine().schedule(problem,
+                SchedulingFixtures.options(new SolverProfile("benchmark", 8, 20.0, 0.0, 1, 0)));
+
+        System.out.println("Engine       | time (ms) | status   | score | fairness");
+        print("local (cold)", cold, problem);
+        print("local (warm)", warm, problem);
+        print("cp-sat", cpSat, problem);
+
+        assertValidSchedule(problem, cold);
+        assertValidSchedule(problem, warm);
+    }
+
+    private static SchedulingProblem createProblem() {
+        List<Employee> employees = createTeam(25);
+        return SchedulingProblem.of(employees, START, END, createAdminConstraints(employees, 300),
+                List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 7, 4), LocalDate.of(2025, 12, 25)));
+    }
+
+    private static void print(String name, DutyScheduler.SchedulingResult result, SchedulingProblem problem) {
+        System.out.printf("%-12s | %9.1f | %-8s | %5d | %s%n", name, result.getWallTimeSeconds() * 1000,
+                result.getSolverStatus(), DutyScheduler.scoreSchedule(problem, result.getShifts()),
+                result.getFairness());
+    }
+}
@@ -0,0 +1,88 @@
+package com.bmc.dutyfy.model;
+
+import com.google.ortools.sat.CpModelProto;
+import com.google.ortools.sat.CpSolver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.bmc.dutyfy.model.SchedulingFixtures.START;
+import static com.bmc.dutyfy.model.SchedulingFixtures.assertValidSchedule;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createAdminConstraints;
+import static com.bmc.dutyfy.model.SchedulingFixtures.createTeam;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares model size, presolve time and solve results of the rest-window encodings on half a year for a large team
+ * with mixed rest windows, and checks that every encoding keeps the rest window on horizons shorter than it.
+ */
+class RestWindowEncodingTest {
+
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    @Test
+    @Tag(SchedulingFixtures.BENCHMARK)
+    void allEncodingsProduceValidSchedules() {
+        List<Employee> employees = createTeam(20);
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setRestDays(2 + i % 4);
+        }
+        List<AdminConstraint> adminConstraints = createAdminConstraints(employees, 100);
+        SchedulingProblem problem = SchedulingProblem.of(employees, START, END, adminConstraints, List.of());
+
+        System.out.println("Encoding       | constraints | bytes  | presolve (s) | solve (s) | status   | objective");
+        for (RestWindowEncoding encoding : RestWindowEncoding.values()) {
+            SolverProfile profile = new SolverProfile(encoding.name(), 8, 20.0, 0.0, 1, 0);
+            profile.setRestWindowEncoding(encoding);
+            SchedulingOptions options = SchedulingFixtures.options(profile);
+
+            CpModelProto proto = DutyScheduler.buildModel(problem, options, new ArrayList<>()).getModel().model();
+            CpSolver presolver = new CpSolver();
+            presolver.getParameters().setNumWorkers(1).setStopAfterPresolve(true);
+            presolver.solve(DutyScheduler.buildModel(problem, options, new ArrayList<>()).getModel());
+
+            DutyScheduler.SchedulingResult result = DutyScheduler.scheduleDuties(problem, options);
+            System.out.printf("%-14s | %11d | %6d | %12.3f | %9.2f | %-8s | %.0f%n", encoding,
+                    proto.getConstraintsCount(), proto.getSerializedSize(), presolver.wallTime(),
+                    result.getWallTimeSeconds(), result.getSolverStatus(), result.getObjectiveValue());
+
+            assertValidSchedule(problem, result);
+        }
+    }
+
+    @Test
+    void horizonShorterThanTheRestWindowStillLimitsEveryoneToOneShift() {
+        // A three-day reschedule window with three rest days: nobody may work twice in it
+        LocalDate windowEnd = START.plusDays(2);
+        for (RestWindowEncoding encoding : RestWindowEncoding.values()) {
+            SolverProfile profile = new SolverProfile(encoding.name(), 1, 5.0, 0.0, 1, 0);
+            profile.setRestWindowEncoding(encoding);
+            SchedulingOptions options = SchedulingFixtures.options(profile);
+
+            List<Employee> team = createTeam(3);
+            SchedulingProblem problem = SchedulingProblem.of(team, START, windowEnd, new ArrayList<>(), List.of());
+            DutyScheduler.SchedulingResult result = DutyScheduler.scheduleDuties(problem, options);
+            assertTrue(result.isSuccess(), encoding + ": " + result.getWarnings());
+            Set<Long> workers = result.getShifts().stream()
+                    .map(shift -> shift.getEmployee().getId())
+                    .collect(Collectors.toSet());
+            assertEquals(3, workers.size(), encoding.toString());
+
+            List<Employee> tooSmallTeam = createTeam(2);
+            SchedulingProblem tooSmall = SchedulingProblem.of(tooSmallTeam, START, windowEnd, new ArrayList<>(),
+                    List.of());
+            DutyScheduler.SchedulingResult infeasible = DutyScheduler.scheduleDuties(tooSmall, options);
+            assertFalse(infeasible.isSuccess(), encoding.toString());
+            assertTrue(infeasible.getConflicts().stream()
+                    .allMatch(conflict -> conflict.getType() == SchedulingConflict.Type.REST_WINDOW),
+                    infeasible.getConflicts().toString());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bmc.dutyfy.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teams, admin constraints and schedule checks shared by the scheduler tests. Off dates and admin constraints are
+ * spread over the two years from {@link #START}, with fixed seeds so every run solves the same problem.
+ * <p>
+ * Tests that solve large problems for their full time budget to compare timings are tagged {@link #BENCHMARK}; the
+ * default build skips them and {@code mvn test -Pbenchmarks} runs them.
+ */
+final class SchedulingFixtures {
+
+    static final String BENCHMARK = "benchmark";
+    static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private SchedulingFixtures() {
+    }
+
+    static List<Employee> createTeam(int size) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Employee employee = new Employee("Employee " + i, "employee" + i + "@company.com", "password",
+                    UserRole.EMPLOYEE, true);
+            employee.setId((long) i + 1);
+            employee.setPreviousYearShifts(10 + random.nextInt(10));
+            List<PreferredOffDate> offDates = new ArrayList<>();
+            for (int j = 0; j < 5; j++) {
+                offDates.add(new PreferredOffDate(employee, START.plusDays(random.nextInt(730))));
+            }
+            employee.setOffDates(offDates);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    static List<AdminConstraint> createAdminConstraints(List<Employee> employees, int count) {
+        Random random = new Random(7);
+        List<AdminConstraint> constraints = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = employees.get(random.nextInt(employees.size()));
+            constraints.add(new AdminConstraint(employee, START.plusDays(random.nextInt(730)), "Leave", false));
+        }
+        return constraints;
+    }
+
+    static SchedulingOptions options(SolverProfile profile) {
+        SchedulingOptions options = new SchedulingOptions();
+        options.setSolverProfile(profile);
+        return options;
+    }
+
+    /**
+     * Checks that {@code result} succeeded with exactly one shift per day of the problem and no rest violations.
+     */
+    static void assertValidSchedule(SchedulingProblem problem, DutyScheduler.SchedulingResult result) {
+        assertTrue(result.isSuccess(), result.getWarnings().toString());
+        Set<LocalDate> coveredDays = result.getShifts().stream()
+                .map(Shift::getShiftDate)
+                .collect(Collectors.toSet());
+        assertEquals(problem.getNumDays(), result.getShifts().size());
+        assertEquals(problem.getNumDays(), coveredDays.size());
+        assertEquals(0, DutyScheduler.countConsecutiveViolations(problem, result.getShifts()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.bmc.dutyfy.repository;
+
+import com.bmc.dutyfy.model.AdminConstraint;
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.PreferredOffDate;
+import com.bmc.dutyfy.model.Shift;
+import com.bmc.dutyfy.model.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the year filters return every employee once and include exactly the dates of the year.
+ */
+@SpringBootTest
+class EmployeeSpecificationFactoryTest {
+
+    private static final int YEAR = 2060;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private PreferredOffDateRepository preferredOffDateRepository;
+
+    @Autowired
+    private AdminConstraintRepository adminConstraintRepository;
+
+    @Test
+    void yearFiltersReturnDistinctEmployeesWithinTheYear() {
+        Employee busy = new Employee("Busy", "spec-busy@company.com", "password", UserRole.EMPLOYEE, true);
+        Employee edges = new Employee("Edges", "spec-edges@company.com", "password", UserRole.EMPLOYEE, true);
+        employeeRepository.saveAll(List.of(busy, edges));
+        List<Shift> shifts = new ArrayList<>();
+        try {
+            for (int d = 0; d < 40; d++) {
+                shifts.add(new Shift(busy, LocalDate.of(YEAR, 3, 1).plusDays(d)));
+            }
+            // Only the last day of the year counts, the days around it belong to the neighbouring years
+            shifts.add(new Shift(edges, LocalDate.of(YEAR - 1, 12, 31)));
+            shifts.add(new Shift(edges, LocalDate.of(YEAR, 12, 31)));
+            shifts.add(new Shift(edges, LocalDate.of(YEAR + 1, 1, 1)));
+            shiftRepository.saveAll(shifts);
+            preferredOffDateRepository.saveAll(List.of(
+                    new PreferredOffDate(busy, LocalDate.of(YEAR, 6, 1)),
+                    new PreferredOffDate(busy, LocalDate.of(YEAR, 6, 2)),
+                    new PreferredOffDate(edges, LocalDate.of(YEAR + 1, 1, 1))));
+            adminConstraintRepository.saveAll(List.of(
+                    new AdminConstraint(busy, LocalDate.of(YEAR, 1, 1), "Training", false),
+                    new AdminConstraint(edges, LocalDate.of(YEAR, 12, 31), "Training", false),
+                    new AdminConstraint(edges, LocalDate.of(YEAR + 1, 1, 1), "Training", false)));
+
+            assertEquals(List.of("Busy", "Edges"),
+                    names(employeeRepository.findAll(EmployeeSpecificationFactory.hasShiftsInYear(YEAR))));
+            assertEquals(List.of("Busy"),
+                    names(employeeRepository.findAll(EmployeeSpecificationFactory.hasOffDatesInYear(YEAR))));
+            assertEquals(List.of("Busy"), names(employeeRepository.findAll(
+                    EmployeeSpecificationFactory.hasShiftsAndOffDatesInYear(YEAR))));
+            assertEquals(2, employeeRepository.count(EmployeeSpecificationFactory.hasShiftsInYear(YEAR)));
+            assertEquals(List.of(LocalDate.of(YEAR, 1, 1), LocalDate.of(YEAR, 12, 31)),
+                    adminConstraintRepository.findByYear(YEAR).stream()
+                            .map(AdminConstraint::getConstraintDate)
+                            .sorted()
+                            .toList());
+        } finally {
+            // Only this test's rows: the database is shared with the other tests on the default context
+            shiftRepository.deleteAllInBatch(shifts);
+            employeeRepository.deleteAll(List.of(busy, edges));
+        }
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream()
+                .map(Employee::getName)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,288 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.EmployeeYearStats;
+import com.bmc.dutyfy.model.ScheduledShift;
+import com.bmc.dutyfy.model.Shift;
+import com.bmc.dutyfy.model.ShiftSwapRequest;
+import com.bmc.dutyfy.repository.EmployeeRepository;
+import com.bmc.dutyfy.repository.EmployeeYearStatsRepository;
+import com.bmc.dutyfy.repository.ShiftRepository;
+import com.bmc.dutyfy.repository.ShiftSwapRequestRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the yearly duty statistics follow commits, recommits and swaps, also when they are written
+ * concurrently, and how they weigh into the carried load. Compares reading them with counting the year's shifts.
+ */
+@SpringBootTest(properties = {
+        // Own in-memory database: another context on the default one would recreate its schema under this one
+        "spring.datasource.url=jdbc:h2:mem:dutyfy-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class DutyStatisticsServiceTest {
+
+    private static final int YEAR = 2031;
+    // The configured company holidays, which recur every year
+    private static final Set<MonthDay> HOLIDAYS = Set.of(MonthDay.of(1, 1), MonthDay.of(7, 4), MonthDay.of(12, 25));
+    private static final int CONCURRENT_SWAPS = 40;
+
+    @Autowired
+    private ShiftSchedulingService schedulingService;
+
+    @Autowired
+    private ShiftSwapService swapService;
+
+    @Autowired
+    private DutyStatisticsService dutyStatisticsService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private ShiftSwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private EmployeeYearStatsRepository statsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statisticsFollowCommitsAndSwaps() {
+        List<Employee> employees = employeeRepository.findByActiveTrue();
+        try {
+            schedulingService.saveYearlySchedule(YEAR - 1, roundRobin(employees, YEAR - 1, 0));
+            schedulingService.saveYearlySchedule(YEAR, roundRobin(employees, YEAR, 0));
+            assertMatchesShifts(YEAR);
+
+            // Recommit with every date moved to the next employee, then with the first weeks moved back
+            schedulingService.saveYearlySchedule(YEAR, roundRobin(employees, YEAR, 1));
+            assertMatchesShifts(YEAR);
+            List<Shift> partlyMoved = roundRobin(employees, YEAR, 1);
+            for (int d = 0; d < 20; d++) {
+                partlyMoved.set(d, new Shift(employees.get(d % employees.size()), partlyMoved.get(d).getShiftDate()));
+            }
+            schedulingService.saveYearlySchedule(YEAR, partlyMoved);
+            assertMatchesShifts(YEAR);
+            assertMatchesShifts(YEAR - 1);
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            List<EmployeeYearStats> stats = dutyStatisticsService.getStatsForYear(YEAR);
+            long statsStatements = statistics.getPrepareStatementCount();
+            statistics.clear();
+            shiftRepository.findByShiftDateBetweenOrderByShiftDate(LocalDate.of(YEAR, 1, 1),
+                    LocalDate.of(YEAR, 12, 31));
+            long shiftStatements = statistics.getPrepareStatementCount();
+            System.out.println("Duty counts of " + YEAR + ": " + stats.size() + " rows in " + statsStatements +
+                    " JDBC statements, against " + LocalDate.of(YEAR, 1, 1).lengthOfYear() + " shifts in " +
+                    shiftStatements);
+            assertEquals(1, statsStatements);
+            assertEquals(employees.size(), stats.size());
+
+            // The carried load weighs last year twice as much as the year before, and the year before that, which
+            // has no statistics, with the previous-year shifts the last commit refreshed
+            List<Employee> refreshed = employeeRepository.findByActiveTrue();
+            Map<Long, Integer> carriedShifts = dutyStatisticsService.getCarriedShifts(YEAR + 1, refreshed);
+            Map<Long, Integer> lastYear = totals(YEAR);
+            Map<Long, Integer> yearBefore = totals(YEAR - 1);
+            for (Employee employee : refreshed) {
+                long expected = Math.round((lastYear.get(employee.getId()) +
+                        0.5 * yearBefore.get(employee.getId()) + 0.25 * employee.getPreviousYearShifts()) / 1.75);
+                assertEquals(expected, (long) carriedShifts.get(employee.getId()));
+            }
+
+            // A swap hands the requester's shift to the target, so its count moves along with the swap counts
+            Employee requester = employees.get(0);
+            Employee target = employees.get(1);
+            Shift requesterShift = shiftRepository.findByEmployeeAndShiftDateBetweenOrderByShiftDate(requester,
+                    LocalDate.of(YEAR, 3, 1), LocalDate.of(YEAR, 3, 31)).get(0);
+            ShiftSwapRequest request = swapRequestRepository.save(new ShiftSwapRequest(requester, target,
+                    requesterShift, "Dentist"));
+            Map<Long, Integer> totalsBeforeSwap = totals(YEAR);
+            transactionTemplate.executeWithoutResult(status -> swapService.approveSwapRequest(request.getId(),
+                    employeeRepository.findById(target.getId()).orElseThrow()));
+            Map<Long, Integer> totalsAfterSwap = totals(YEAR);
+            assertEquals(totalsBeforeSwap.get(requester.getId()) - 1, totalsAfterSwap.get(requester.getId()));
+            assertEquals(totalsBeforeSwap.get(target.getId()) + 1, totalsAfterSwap.get(target.getId()));
+            assertMatchesShifts(YEAR);
+            for (EmployeeYearStats employeeStats : dutyStatisticsService.getStatsForYear(YEAR)) {
+                Long employeeId = employeeStats.getEmployee().getId();
+                boolean swapped = employeeId.equals(requester.getId()) || employeeId.equals(target.getId());
+                assertEquals(swapped ? 1 : 0, employeeStats.getSwappedShifts());
+            }
+        } finally {
+            swapRequestRepository.deleteAllInBatch();
+            shiftRepository.deleteAllInBatch();
+            statsRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    void carriedLoadUsesPreviousYearShiftsForYearsWithoutStatistics() {
+        int year = YEAR + 20;
+        List<Employee> employees = employeeRepository.findByActiveTrue();
+        Employee steady = employees.get(0);
+        Employee returning = employees.get(1);
+        Employee newcomer = employees.get(2);
+        try {
+            statsRepository.saveAll(List.of(stats(steady, year - 1, 20), stats(steady, year - 2, 30),
+                    stats(returning, year - 2, 12)));
+
+            // Missing rows in the two recorded years count 0; the third year has no rows at all, so everyone counts
+            // their previous-year shifts for it. The years weigh 1, 0.5 and 0.25
+            Map<Long, Integer> carriedShifts = dutyStatisticsService.getCarriedShifts(year, employees);
+            assertEquals(employees.size(), carriedShifts.size());
+            assertEquals(Math.round((20 + 0.5 * 30 + 0.25 * steady.getPreviousYearShifts()) / 1.75),
+                    (long) carriedShifts.get(steady.getId()));
+            assertEquals(Math.round((0.5 * 12 + 0.25 * returning.getPreviousYearShifts()) / 1.75),
+                    (long) carriedShifts.get(returning.getId()));
+            assertEquals(Math.round(0.25 * newcomer.getPreviousYearShifts() / 1.75),
+                    (long) carriedShifts.get(newcomer.getId()));
+
+            // Without any statistics, everyone carries their previous-year shifts
+            Map<Long, Integer> withoutHistory = dutyStatisticsService.getCarriedShifts(year + 10, employees);
+            for (Employee employee : employees) {
+                assertEquals(employee.getPreviousYearShifts(), withoutHistory.get(employee.getId()));
+            }
+        } finally {
+            statsRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    void upgradedDatabaseCarriesItsPreviousYearShifts() {
+        int year = YEAR + 40;
+        List<Employee> employees = employeeRepository.findByActiveTrue();
+        try {
+            // Shifts written before the statistics existed, with the previous-year counts refreshed from them
+            shiftRepository.saveAll(roundRobin(employees, year - 1, 0));
+            transactionTemplate.executeWithoutResult(status -> employeeRepository.updatePreviousYearShifts(
+                    LocalDate.of(year - 1, 1, 1), LocalDate.of(year - 1, 12, 31), LocalDateTime.now()));
+            assertTrue(dutyStatisticsService.getStatsForYear(year - 1).isEmpty());
+
+            List<Employee> upgraded = employeeRepository.findByActiveTrue();
+            Map<Long, Integer> carriedShifts = dutyStatisticsService.getCarriedShifts(year, upgraded);
+            for (Employee employee : upgraded) {
+                int shifts = schedulingService.getShiftsForEmployee(employee, year - 1).size();
+                assertTrue(shifts >= LocalDate.of(year - 1, 1, 1).lengthOfYear() / employees.size());
+                assertEquals(shifts, carriedShifts.get(employee.getId()));
+            }
+        } finally {
+            shiftRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    void concurrentWritesToNewRowsAllCount() throws Exception {
+        List<Employee> employees = employeeRepository.findByActiveTrue();
+        Employee requester = employees.get(0);
+        Employee target = employees.get(1);
+        LocalDate date = LocalDate.of(YEAR + 1, 3, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // Every writer finds no rows for the year at first, so they race to create them
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> swaps = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_SWAPS; i++) {
+                swaps.add(executor.submit(() -> {
+                    start.await();
+                    dutyStatisticsService.recordSwap(requester, target, date);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> swap : swaps) {
+                swap.get();
+            }
+
+            List<EmployeeYearStats> stats = dutyStatisticsService.getStatsForYear(YEAR + 1);
+            assertEquals(2, stats.size());
+            for (EmployeeYearStats employeeStats : stats) {
+                assertEquals(CONCURRENT_SWAPS, employeeStats.getSwappedShifts(), employeeStats.toString());
+            }
+        } finally {
+            executor.shutdownNow();
+            statsRepository.deleteAllInBatch();
+        }
+    }
+
+    private void assertMatchesShifts(int year) {
+        Map<Long, int[]> counted = new HashMap<>();
+        for (ScheduledShift shift : schedulingService.getShiftsForYear(year)) {
+            int[] counts = counted.computeIfAbsent(shift.getEmployeeId(), id -> new int[3]);
+            counts[0]++;
+            DayOfWeek dayOfWeek = shift.getShiftDate().getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                counts[1]++;
+            }
+            if (HOLIDAYS.contains(MonthDay.from(shift.getShiftDate()))) {
+                counts[2]++;
+            }
+        }
+        for (EmployeeYearStats stats : dutyStatisticsService.getStatsForYear(year)) {
+            int[] counts = counted.getOrDefault(stats.getEmployee().getId(), new int[3]);
+            assertEquals(counts[0], stats.getTotalShifts(), stats.toString());
+            assertEquals(counts[1], stats.getWeekendShifts(), stats.toString());
+            assertEquals(counts[2], stats.getHolidayShifts(), stats.toString());
+        }
+        assertEquals(HOLIDAYS.size(), dutyStatisticsService.getStatsForYear(year).stream()
+                .mapToInt(EmployeeYearStats::getHolidayShifts)
+                .sum());
+    }
+
+    private static EmployeeYearStats stats(Employee employee, int year, int totalShifts) {
+        EmployeeYearStats stats = new EmployeeYearStats(employee, year);
+        stats.setTotalShifts(totalShifts);
+        stats.setLastModifiedDate(LocalDateTime.now());
+        return stats;
+    }
+
+    private Map<Long, Integer> totals(int year) {
+        Map<Long, Integer> totals = new HashMap<>();
+        dutyStatisticsService.getStatsForYear(year)
+                .forEach(stats -> totals.put(stats.getEmployee().getId(), stats.getTotalShifts()));
+        return totals;
+    }
+
+    private static List<Shift> roundRobin(List<Employee> employees, int year, int offset) {
+        List<Shift> shifts = new ArrayList<>();
+        LocalDate date = LocalDate.of(year, 1, 1);
+        for (int d = 0; date.getYear() == year; d++, date = date.plusDays(1)) {
+            shifts.add(new Shift(employees.get((d + offset) % employees.size()), date));
+        }
+        return shifts;
+    }
+}
@@ -0,0 +1,110 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.PreferredOffDate;
+import com.bmc.dutyfy.model.UserRole;
+import com.bmc.dutyfy.repository.EmployeeRepository;
+import com.bmc.dutyfy.repository.PreferredOffDateRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that repeated employee lookups are served from the second-level and query caches, that writes made through
+ * JPA are visible right after, and that the cache hits are published as metrics.
+ */
+@SpringBootTest(properties = {
+        // Own in-memory database: another context on the default one would recreate its schema under this one
+        "spring.datasource.url=jdbc:h2:mem:dutyfy-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class EmployeeCacheTest {
+
+    private static final String EMAIL = "cached@company.com";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PreferredOffDateRepository preferredOffDateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void repeatedLookupsHitTheCacheAndWritesStayVisible() {
+        Employee employee = new Employee("Cached", EMAIL, "password", UserRole.EMPLOYEE, true);
+        employee.setPreviousYearShifts(7);
+        employee = employeeRepository.save(employee);
+        long employeeId = employee.getId();
+        try {
+            // A page view: the employee by email and their off dates, each in its own transaction
+            Supplier<List<LocalDate>> pageView = () -> transactionTemplate.execute(status ->
+                    employeeRepository.findByEmail(EMAIL).orElseThrow().getOffDates().stream()
+                            .map(PreferredOffDate::getOffDate)
+                            .sorted()
+                            .toList());
+            long coldStatements = countStatements(pageView);
+            long warmStatements = countStatements(pageView);
+            System.out.println("Employee page view: " + coldStatements + " JDBC statements cold, " + warmStatements +
+                    " warm");
+            assertEquals(0, warmStatements);
+
+            PreferredOffDate offDate = preferredOffDateRepository.save(new PreferredOffDate(employee,
+                    LocalDate.of(2030, 5, 1)));
+            assertEquals(List.of(LocalDate.of(2030, 5, 1)), pageView.get());
+            preferredOffDateRepository.delete(offDate);
+            assertEquals(List.of(), pageView.get());
+
+            Employee renamed = employeeRepository.findByEmail(EMAIL).orElseThrow();
+            renamed.setName("Renamed");
+            employeeRepository.save(renamed);
+            assertEquals("Renamed", employeeRepository.findByEmail(EMAIL).orElseThrow().getName());
+
+            // Bulk JPQL updates bypass the entity instances, so Hibernate evicts the whole region
+            transactionTemplate.executeWithoutResult(status -> employeeRepository.updatePreviousYearShifts(
+                    LocalDate.of(2031, 1, 1), LocalDate.of(2031, 12, 31), LocalDateTime.now()));
+            assertEquals(0, employeeRepository.findByEmail(EMAIL).orElseThrow().getPreviousYearShifts());
+
+            FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                    .tags("region", "employees", "result", "hit")
+                    .functionCounter();
+            FunctionCounter queryHits = meterRegistry.find("hibernate.cache.query.requests")
+                    .tags("result", "hit")
+                    .functionCounter();
+            assertTrue(hits != null && hits.count() > 0, "No employee cache hits published");
+            assertTrue(queryHits != null && queryHits.count() > 0, "No query cache hits published");
+        } finally {
+            employeeRepository.deleteById(employeeId);
+        }
+    }
+
+    private long countStatements(Supplier<?> pageView) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        pageView.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,180 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.ScheduledShift;
+import com.bmc.dutyfy.model.Shift;
+import com.bmc.dutyfy.model.ShiftSwapRequest;
+import com.bmc.dutyfy.model.UserRole;
+import com.bmc.dutyfy.repository.EmployeeRepository;
+import com.bmc.dutyfy.repository.ShiftRepository;
+import com.bmc.dutyfy.repository.ShiftSwapRequestRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that committing over an existing schedule only writes what changed. With the benchmarks profile it also
+ * measures commits at 1, 10 and 100 team-years and checks that refreshing the previous-year counts takes the same
+ * statements whatever the headcount.
+ */
+@SpringBootTest(properties = {
+        // Own in-memory database: another context on the default one would recreate its schema under this one
+        "spring.datasource.url=jdbc:h2:mem:dutyfy-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ScheduleCommitBenchmarkTest {
+
+    private static final int FIRST_YEAR = 2100;
+    private static final int RECOMMIT_YEAR = 2090;
+    private static final int CHANGED_DAYS = 10;
+    private static final int COUNTS_YEAR = 2080;
+
+    @Autowired
+    private ShiftSchedulingService schedulingService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private ShiftSwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Tag("benchmark")
+    void commitsTeamYears() {
+        List<Employee> employees = employeeRepository.findByActiveTrue();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm-up commit, so the first measurement doesn't pay for class loading and JIT
+        commit(employees, FIRST_YEAR - 1, 1);
+
+        System.out.println("Team-years | shifts | time (ms) | JDBC statements");
+        int year = FIRST_YEAR;
+        for (int teamYears : new int[]{1, 10, 100}) {
+            statistics.clear();
+            long started = System.nanoTime();
+            int shifts = commit(employees, year, teamYears);
+            double millis = (System.nanoTime() - started) / 1e6;
+            System.out.printf("%10d | %6d | %9.1f | %d%n", teamYears, shifts, millis,
+                    statistics.getPrepareStatementCount());
+
+            assertEquals(LocalDate.of(year, 1, 1).lengthOfYear(), schedulingService.getShiftsForYear(year).size());
+            year += teamYears;
+        }
+        shiftRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void recommittingWritesOnlyTheChangedShifts() {
+        List<Employee> employees = employeeRepository.findByActiveTrue();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        commit(employees, RECOMMIT_YEAR, 1);
+        List<Shift> committed = shiftRepository.findByShiftDateBetweenOrderByShiftDate(
+                LocalDate.of(RECOMMIT_YEAR, 1, 1), LocalDate.of(RECOMMIT_YEAR, 12, 31));
+        Shift swapped = committed.get(CHANGED_DAYS + 1);
+        ShiftSwapRequest swapRequest = swapRequestRepository.save(new ShiftSwapRequest(swapped.getEmployee(),
+                employees.get(0), swapped, "Dentist"));
+
+        // Same schedule with the first CHANGED_DAYS days moved to the next employee
+        List<Shift> shifts = new ArrayList<>();
+        for (int d = 0; d < committed.size(); d++) {
+            int worker = (d + (d < CHANGED_DAYS ? 1 : 0)) % employees.size();
+            shifts.add(new Shift(employees.get(worker), committed.get(d).getShiftDate()));
+        }
+        statistics.clear();
+        schedulingService.saveYearlySchedule(RECOMMIT_YEAR, shifts);
+
+        EntityStatistics shiftStatistics = statistics.getEntityStatistics(Shift.class.getName());
+        System.out.println("Recommit with " + CHANGED_DAYS + " changed days: " + shiftStatistics.getUpdateCount() +
+                " updates, " + shiftStatistics.getInsertCount() + " inserts, " + shiftStatistics.getDeleteCount() +
+                " deletes, " + statistics.getPrepareStatementCount() + " JDBC statements");
+        assertEquals(CHANGED_DAYS, shiftStatistics.getUpdateCount());
+        assertEquals(0, shiftStatistics.getInsertCount());
+        assertEquals(0, shiftStatistics.getDeleteCount());
+        // The schedule index is rebuilt with the recommitted employees on the same shift ids
+        List<ScheduledShift> recommitted = schedulingService.getShiftsForYear(RECOMMIT_YEAR);
+        for (int d = 0; d < committed.size(); d++) {
+            assertEquals(committed.get(d).getId(), recommitted.get(d).getId());
+            assertEquals(shifts.get(d).getEmployee().getId(), recommitted.get(d).getEmployeeId());
+        }
+        assertTrue(swapRequestRepository.findById(swapRequest.getId()).isPresent());
+
+        swapRequestRepository.delete(swapRequest);
+        shiftRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void refreshingPreviousYearCountsTakesConstantStatements() {
+        List<Employee> employees = employeeRepository.findByActiveTrue();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        commit(employees, COUNTS_YEAR - 1, 2);
+
+        // Recommitting an unchanged year only reads its shifts and refreshes the counts
+        statistics.clear();
+        commit(employees, COUNTS_YEAR, 1);
+        long smallTeamStatements = statistics.getPrepareStatementCount();
+
+        List<Employee> extraEmployees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            extraEmployees.add(new Employee("Former " + i, "former" + i + "@company.com", "password",
+                    UserRole.EMPLOYEE, false));
+        }
+        employeeRepository.saveAll(extraEmployees);
+        statistics.clear();
+        commit(employees, COUNTS_YEAR, 1);
+        long largeTeamStatements = statistics.getPrepareStatementCount();
+
+        System.out.println("Unchanged recommit: " + smallTeamStatements + " JDBC statements with " +
+                employees.size() + " employees, " + largeTeamStatements + " with " +
+                (employees.size() + extraEmployees.size()));
+        assertEquals(smallTeamStatements, largeTeamStatements);
+        int daysInPreviousYear = LocalDate.of(COUNTS_YEAR - 1, 1, 1).lengthOfYear();
+        for (Employee employee : employeeRepository.findByActiveTrue()) {
+            int expected = schedulingService.getShiftsForEmployee(employee, COUNTS_YEAR - 1).size();
+            assertEquals(expected, employee.getPreviousYearShifts());
+            assertTrue(expected >= daysInPreviousYear / employees.size());
+        }
+        assertTrue(employeeRepository.findAll().stream()
+                .filter(employee -> !employee.isActive())
+                .allMatch(employee -> employee.getPreviousYearShifts() == 0));
+
+        employeeRepository.deleteAll(employeeRepository.findAll().stream()
+                .filter(employee -> employee.getEmail().startsWith("former"))
+                .toList());
+        shiftRepository.deleteAllInBatch();
+    }
+
+    private int commit(List<Employee> employees, int firstYear, int teamYears) {
+        int total = 0;
+        for (int year = firstYear; year < firstYear + teamYears; year++) {
+            List<Shift> shifts = new ArrayList<>();
+            LocalDate date = LocalDate.of(year, 1, 1);
+            for (int d = 0; date.getYear() == year; d++, date = date.plusDays(1)) {
+                shifts.add(new Shift(employees.get(d % employees.size()), date));
+            }
+            schedulingService.saveYearlySchedule(year, shifts);
+            total += shifts.size();
+        }
+        return total;
+    }
+}
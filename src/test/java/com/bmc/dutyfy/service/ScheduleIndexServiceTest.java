@@ -0,0 +1,140 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.ScheduledShift;
+import com.bmc.dutyfy.model.Shift;
+import com.bmc.dutyfy.model.ShiftSwapRequest;
+import com.bmc.dutyfy.repository.EmployeeRepository;
+import com.bmc.dutyfy.repository.EmployeeYearStatsRepository;
+import com.bmc.dutyfy.repository.ShiftRepository;
+import com.bmc.dutyfy.repository.ShiftSwapRequestRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures building the schedule index of a year and the calendar, dashboard and swap lookups served from it, and
+ * checks that the index follows committed schedules and approved swaps and that years without shifts aren't kept.
+ */
+@SpringBootTest(properties = {
+        // Own in-memory database: another context on the default one would recreate its schema under this one
+        "spring.datasource.url=jdbc:h2:mem:dutyfy-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ScheduleIndexServiceTest {
+
+    private static final int YEAR = 2110;
+    private static final int LOOKUPS = 10_000;
+    private static final int EMPTY_YEARS = 100;
+
+    @Autowired
+    private ShiftSchedulingService schedulingService;
+
+    @Autowired
+    private ShiftSwapService swapService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private ShiftSwapRequestRepository swapRequestRepository;
+
+    @Autowired
+    private EmployeeYearStatsRepository statsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void lookupsFollowCommitsAndSwaps() {
+        List<Employee> employees = employeeRepository.findByActiveTrue();
+        Employee first = employees.get(0);
+        Employee second = employees.get(1);
+        try {
+            List<Shift> shifts = new ArrayList<>();
+            LocalDate date = LocalDate.of(YEAR, 1, 1);
+            for (int d = 0; date.getYear() == YEAR; d++, date = date.plusDays(1)) {
+                shifts.add(new Shift(employees.get(d % employees.size()), date));
+            }
+            schedulingService.saveYearlySchedule(YEAR, shifts);
+
+            // The first read builds the index from the year's projection rows
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            schedulingService.getShiftsForYear(YEAR);
+            System.out.println("Building the " + YEAR + " index: " + statistics.getPrepareStatementCount() +
+                    " JDBC statements, " + statistics.getEntityLoadCount() + " entities loaded");
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+
+            statistics.clear();
+            long started = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                LocalDate day = LocalDate.of(YEAR, 1, 1).plusDays(i % 365);
+                schedulingService.getShiftsForYear(YEAR);
+                schedulingService.getShiftsForEmployee(first, YEAR);
+                schedulingService.hasShiftOn(second, day);
+            }
+            double micros = (System.nanoTime() - started) / 1e3 / LOOKUPS;
+            System.out.printf("Calendar, dashboard and swap lookups: %.2f µs per round, %d JDBC statements%n",
+                    micros, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getPrepareStatementCount());
+
+            List<ScheduledShift> firstShifts = schedulingService.getShiftsForEmployee(first, YEAR);
+            assertEquals(shifts.stream().filter(shift -> shift.getEmployee().equals(first)).count(),
+                    firstShifts.size());
+            assertTrue(firstShifts.stream().allMatch(shift -> shift.getEmployeeId() == first.getId()));
+            assertEquals(firstShifts.subList(1, firstShifts.size()), schedulingService.getShiftsForEmployee(first,
+                    firstShifts.get(0).getShiftDate().plusDays(1), LocalDate.of(YEAR + 1, 6, 30)));
+
+            // The second employee takes over a shift of the first one
+            ScheduledShift swapped = firstShifts.get(3);
+            LocalDate swapDate = swapped.getShiftDate();
+            Shift requesterShift = shiftRepository.findById(swapped.getId()).orElseThrow();
+            assertFalse(schedulingService.hasShiftOn(second, swapDate));
+            ShiftSwapRequest request = swapRequestRepository.save(new ShiftSwapRequest(first, second,
+                    requesterShift, "Dentist"));
+            transactionTemplate.executeWithoutResult(status -> swapService.approveSwapRequest(request.getId(),
+                    employeeRepository.findById(second.getId()).orElseThrow()));
+            assertTrue(schedulingService.hasShiftOn(second, swapDate));
+            assertFalse(schedulingService.hasShiftOn(first, swapDate));
+            assertEquals(shifts.size(), schedulingService.getShiftsForYear(YEAR).size());
+        } finally {
+            swapRequestRepository.deleteAllInBatch();
+            shiftRepository.deleteAllInBatch();
+            statsRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    void yearsWithoutShiftsAreNotCached() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        for (int year = YEAR + 100; year < YEAR + 100 + EMPTY_YEARS; year++) {
+            assertTrue(schedulingService.getShiftsForYear(year).isEmpty());
+            assertTrue(schedulingService.getShiftsForYear(year).isEmpty());
+        }
+        // Every read of an empty year asks the database again instead of keeping an index for it
+        assertEquals(2 * EMPTY_YEARS, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.bmc.dutyfy.service;
+
+import com.bmc.dutyfy.model.AdminConstraint;
+import com.bmc.dutyfy.model.Employee;
+import com.bmc.dutyfy.model.PreferredOffDate;
+import com.bmc.dutyfy.model.SchedulingProblem;
+import com.bmc.dutyfy.model.UserRole;
+import com.bmc.dutyfy.repository.AdminConstraintRepository;
+import com.bmc.dutyfy.repository.EmployeeRepository;
+import com.bmc.dutyfy.repository.PreferredOffDateRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements needed to load a yearly solver input, through the loader and through the employees'
+ * lazy off-date collections, before and after the team grows.
+ */
+@SpringBootTest(properties = {
+        // Own in-memory database: another context on the default one would recreate its schema under this one
+        "spring.datasource.url=jdbc:h2:mem:dutyfy-benchmark",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class SchedulingInputLoaderTest {
+
+    private static final int YEAR = 2070;
+    private static final LocalDate START = LocalDate.of(YEAR, 1, 1);
+    private static final LocalDate END = LocalDate.of(YEAR, 12, 31);
+    private static final List<LocalDate> HOLIDAYS = List.of(START, LocalDate.of(YEAR, 12, 25));
+
+    @Autowired
+    private SchedulingInputLoader schedulingInputLoader;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PreferredOffDateRepository preferredOffDateRepository;
+
+    @Autowired
+    private AdminConstraintRepository adminConstraintRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void loadsTheYearInConstantStatements() {
+        long smallTeamStatements = countStatements(this::loadWithLoader);
+        long smallTeamLazyStatements = countStatements(this::loadThroughEmployees);
+
+        List<Employee> extraEmployees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            extraEmployees.add(new Employee("Newcomer " + i, "newcomer" + i + "@company.com", "password",
+                    UserRole.EMPLOYEE, true));
+        }
+        employeeRepository.saveAll(extraEmployees);
+        List<PreferredOffDate> offDates = new ArrayList<>();
+        List<AdminConstraint> adminConstraints = new ArrayList<>();
+        for (int i = 0; i < extraEmployees.size(); i++) {
+            Employee employee = extraEmployees.get(i);
+            for (int k = 0; k < 5; k++) {
+                offDates.add(new PreferredOffDate(employee, START.plusDays(i + 50L * k)));
+            }
+            // Last year's off dates are outside the range and must not be loaded
+            offDates.add(new PreferredOffDate(employee, START.minusDays(i + 1)));
+            adminConstraints.add(new AdminConstraint(employee, START.plusDays(i * 3L), "Training", false));
+        }
+        preferredOffDateRepository.saveAll(offDates);
+        adminConstraintRepository.saveAll(adminConstraints);
+
+        try {
+            long largeTeamStatements = countStatements(this::loadWithLoader);
+            long largeTeamLazyStatements = countStatements(this::loadThroughEmployees);
+            SchedulingProblem problem = loadWithLoader();
+
+            int teamSize = problem.getNumWorkers();
+            System.out.println("Employees | loader statements | lazy off-date statements");
+            System.out.printf("%9d | %17d | %d%n", teamSize - extraEmployees.size(), smallTeamStatements,
+                    smallTeamLazyStatements);
+            System.out.printf("%9d | %17d | %d%n", teamSize, largeTeamStatements, largeTeamLazyStatements);
+
+            assertEquals(smallTeamStatements, largeTeamStatements);
+            // Employees, off dates, admin constraints and the duty statistics of the earlier years
+            assertEquals(4, largeTeamStatements);
+            assertTrue(largeTeamLazyStatements > largeTeamStatements);
+            for (int i = 0; i < extraEmployees.size(); i++) {
+                int worker = problem.workerIndex(extraEmployees.get(i).getId());
+                for (int k = 0; k < 5; k++) {
+                    assertTrue(problem.isOffDay(worker, problem.dayIndex(START.plusDays(i + 50L * k))));
+                }
+                assertTrue(problem.isBlocked(worker, problem.dayIndex(START.plusDays(i * 3L))));
+            }
+        } finally {
+            employeeRepository.deleteAll(employeeRepository.findAll().stream()
+                    .filter(employee -> employee.getEmail().startsWith("newcomer"))
+                    .toList());
+        }
+    }
+
+    private SchedulingProblem loadWithLoader() {
+        return transactionTemplate.execute(status -> schedulingInputLoader.load(START, END, HOLIDAYS,
+                employee -> 2));
+    }
+
+    private SchedulingProblem loadThroughEmployees() {
+        return transactionTemplate.execute(status -> SchedulingProblem.of(employeeRepository.findByActiveTrue(),
+                START, END, adminConstraintRepository.findByConstraintDateBetween(START, END), HOLIDAYS,
+                employee -> 2));
+    }
+
+    private long countStatements(Supplier<SchedulingProblem> load) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        load.get();
+        return statistics.getPrepareStatementCount();
+    }
+}